@@ -70,6 +70,68 @@ class ConfigurationCacheBuildOperationsIntegrationTest extends AbstractConfigura
         workGraphLoaded()
     }
 
+    def "reports the size of the state stored and loaded"() {
+        given:
+        withLibBuild()
+
+        when:
+        inDirectory 'lib'
+        configurationCacheRun 'assemble', *compressState
+
+        then:
+        def store = operations.only(ConfigurationCacheStoreBuildOperationType).result
+        store.stateSize > 0
+        compressed ? store.stateSize < store.uncompressedStateSize : store.stateSize == store.uncompressedStateSize
+
+        when:
+        inDirectory 'lib'
+        configurationCacheRun 'assemble', *compressState
+
+        then:
+        def load = operations.only(ConfigurationCacheLoadBuildOperationType).result
+        load.stateSize > 0
+        compressed ? load.stateSize < load.uncompressedStateSize : load.stateSize == load.uncompressedStateSize
+
+        where:
+        compressed | compressState
+        false      | []
+        true       | ["-Dorg.gradle.configuration-cache.internal.compress-state=true"]
+    }
+
+    def "reports the size of the state of included builds"() {
+        given:
+        withLibBuild()
+        withAppBuild()
+
+        when:
+        inDirectory 'app'
+        configurationCacheRun 'assemble', *compressState
+
+        then:
+        def rootBuildStateFile = stateFileNamed('work.bin')
+        stateFileNamed('work.bin.lib').length() > 0
+        def store = operations.only(ConfigurationCacheStoreBuildOperationType).result
+        store.stateSize > rootBuildStateFile.length()
+
+        when:
+        inDirectory 'app'
+        configurationCacheRun 'assemble', *compressState
+
+        then:
+        def load = operations.only(ConfigurationCacheLoadBuildOperationType).result
+        load.stateSize > rootBuildStateFile.length()
+
+        where:
+        compressState << [[], ["-Dorg.gradle.configuration-cache.internal.compress-state=true"]]
+    }
+
+    private File stateFileNamed(String name) {
+        def stateFiles = []
+        file('app/.gradle/configuration-cache').eachFileRecurse { if (it.name == name) stateFiles << it }
+        assert stateFiles.size() == 1
+        return stateFiles.first()
+    }
+
     def "emits relevant build operations when configuration cache is used - included build dependency"() {
         given:
         withLibBuild()
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configurationcache
+
+class ConfigurationCacheShardedTaskStateIntegrationTest extends AbstractConfigurationCacheIntegrationTest {
+    static final String SHARD_TASK_STATE = "-Dorg.gradle.configuration-cache.internal.shard-task-state=true"
+    static final String LAZY_TASK_STATE = "-Dorg.gradle.configuration-cache.internal.lazy-task-state=true"
+
+    def setup() {
+        settingsFile << """
+            include 'a', 'b', 'c'
+        """
+        buildFile << """
+            abstract class Greet extends DefaultTask {
+                @Input abstract Property<String> getGreeting()
+                @OutputFile abstract RegularFileProperty getOutputFile()
+
+                @TaskAction
+                def greet() {
+                    outputFile.get().asFile.text = greeting.get()
+                }
+            }
+
+            abstract class Counter implements BuildService<BuildServiceParameters.None> {
+                int count
+            }
+
+            def counter = gradle.sharedServices.registerIfAbsent("counter", Counter) {}
+
+            subprojects {
+                def greet = tasks.register("greet", Greet) {
+                    greeting = "hello from \$path"
+                    outputFile = layout.buildDirectory.file("greeting.txt")
+                    usesService(counter)
+                }
+                tasks.register("copy", Copy) {
+                    from greet
+                    into layout.buildDirectory.dir("copy")
+                }
+            }
+        """
+    }
+
+    def "loads the state of tasks of several projects"() {
+        given:
+        def configurationCache = newConfigurationCacheFixture()
+
+        when:
+        configurationCacheRun SHARD_TASK_STATE, "copy"
+
+        then:
+        configurationCache.assertStateStored()
+        result.assertTasksExecuted(":a:greet", ":a:copy", ":b:greet", ":b:copy", ":c:greet", ":c:copy")
+
+        when:
+        file("b/build/greeting.txt").delete()
+        configurationCacheRun SHARD_TASK_STATE, "copy"
+
+        then:
+        configurationCache.assertStateLoaded()
+        result.assertTaskExecuted(":b:greet")
+        result.assertTaskSkipped(":a:greet")
+        file("b/build/greeting.txt").text == "hello from :b"
+        file("c/build/copy/greeting.txt").text == "hello from :c"
+    }
+
+    def "loads the state of tasks that share a value source"() {
+        given:
+        buildFile << """
+            abstract class Greeting implements ValueSource<String, ValueSourceParameters.None> {
+                String obtain() { "shared greeting" }
+            }
+
+            def sharedGreeting = providers.of(Greeting) {}
+            subprojects {
+                tasks.named("greet") {
+                    greeting = sharedGreeting
+                }
+            }
+        """
+        def configurationCache = newConfigurationCacheFixture()
+
+        when:
+        configurationCacheRun SHARD_TASK_STATE, "greet"
+
+        then:
+        configurationCache.assertStateStored()
+
+        when:
+        file("a/build/greeting.txt").delete()
+        configurationCacheRun SHARD_TASK_STATE, "greet"
+
+        then:
+        configurationCache.assertStateLoaded()
+        result.assertTaskExecuted(":a:greet")
+        file("a/build/greeting.txt").text == "shared greeting"
+    }
+
+    def "computes the state of tasks that share a value source once"() {
+        given:
+        buildFile << """
+            abstract class Greeting implements ValueSource<String, ValueSourceParameters.None> {
+                String obtain() { "shared greeting" }
+            }
+
+            def sharedGreeting = providers.of(Greeting) {}
+            subprojects {
+                tasks.named("greet") {
+                    def taskPath = path
+                    greeting = sharedGreeting.zip(provider { println("computing greeting of \$taskPath"); taskPath }) { shared, path -> "\$shared from \$path" }
+                }
+            }
+        """
+        def configurationCache = newConfigurationCacheFixture()
+
+        when:
+        configurationCacheRun SHARD_TASK_STATE, "greet"
+
+        then:
+        configurationCache.assertStateStored()
+        output.count("computing greeting of :a:greet") == 1
+        output.count("computing greeting of :b:greet") == 1
+        output.count("computing greeting of :c:greet") == 1
+
+        when:
+        configurationCacheRun SHARD_TASK_STATE, "greet"
+
+        then:
+        configurationCache.assertStateLoaded()
+        outputDoesNotContain("computing greeting of")
+        file("b/build/greeting.txt").text == "shared greeting from :b:greet"
+    }
+
+    def "entry stored without shards can be loaded when shards are enabled"() {
+        given:
+        def configurationCache = newConfigurationCacheFixture()
+
+        when:
+        configurationCacheRun "greet"
+
+        then:
+        configurationCache.assertStateStored()
+
+        when:
+        configurationCacheRun SHARD_TASK_STATE, "greet"
+
+        then:
+        configurationCache.assertStateLoaded()
+    }
+
+    def "loads the state of tasks right before they execute"() {
+        given:
+        def configurationCache = newConfigurationCacheFixture()
+
+        when:
+        configurationCacheRun LAZY_TASK_STATE, "copy"
+
+        then:
+        configurationCache.assertStateStored()
+
+        when:
+        file("a/build/greeting.txt").delete()
+        configurationCacheRun LAZY_TASK_STATE, "copy"
+
+        then:
+        configurationCache.assertStateLoaded()
+        result.assertTaskExecuted(":a:greet")
+        result.assertTaskSkipped(":b:greet")
+        file("a/build/greeting.txt").text == "hello from :a"
+        file("a/build/copy/greeting.txt").text == "hello from :a"
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configurationcache.serialization.beans
+
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.io.File
+
+
+/**
+ * Measures getting and setting the fields of a bean shaped like the state of a typical task,
+ * as done when storing and loading the configuration cache, through reflection and through method handles.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+open class BeanFieldAccessorBenchmark {
+
+    @Param("reflective", "methodHandle")
+    lateinit var accessorType: String
+
+    private
+    lateinit var accessors: List<BeanFieldAccessor>
+
+    private
+    lateinit var values: List<Any?>
+
+    private
+    val source = TaskLikeBean()
+
+    private
+    val target = TaskLikeBean()
+
+    @Setup
+    @Suppress("deprecation")
+    fun setup() {
+        val fields = TaskLikeBean::class.java.declaredFields.onEach { it.isAccessible = true }
+        accessors = fields.map { field ->
+            when (accessorType) {
+                "reflective" -> reflectiveAccessorFor(field)
+                else -> methodHandleAccessorFor(field) ?: reflectiveAccessorFor(field)
+            }
+        }
+        values = accessors.map { it.get(source) }
+    }
+
+    @Benchmark
+    fun getFields(blackhole: Blackhole) {
+        for (accessor in accessors) {
+            blackhole.consume(accessor.get(source))
+        }
+    }
+
+    @Benchmark
+    fun setFields() {
+        for (i in accessors.indices) {
+            accessors[i].set(target, values[i])
+        }
+    }
+
+    @Suppress("unused")
+    class TaskLikeBean {
+        private
+        val name: String = "compileJava"
+
+        private
+        var description: String? = "Compiles main Java source."
+
+        private
+        var enabled: Boolean = true
+
+        private
+        var timeoutMillis: Long = 60_000
+
+        private
+        var maxWorkers: Int = 4
+
+        private
+        var destinationDirectory: File = File("build/classes/java/main")
+
+        private
+        var sourceFiles: List<File> = (0 until 16).map { File("src/main/java/Source$it.java") }
+
+        private
+        var compilerArgs: List<String> = listOf("-parameters", "-Xlint:deprecation")
+
+        private
+        var options: Map<String, Any?> = mapOf("encoding" to "UTF-8", "debug" to true, "fork" to false)
+
+        private
+        var onlyIf: Any? = null
+    }
+}
@@ -22,16 +22,68 @@ import org.gradle.internal.operations.BuildOperationContext
 import org.gradle.internal.operations.BuildOperationDescriptor
 import org.gradle.internal.operations.BuildOperationExecutor
 import org.gradle.internal.operations.CallableBuildOperation
+import org.gradle.internal.service.scopes.Scopes
+import org.gradle.internal.service.scopes.ServiceScope
+import java.util.concurrent.atomic.AtomicLong
 
 
 internal
-fun <T : Any> BuildOperationExecutor.withLoadOperation(block: () -> T) =
-    withOperation("Load configuration cache state", "Loading configuration cache state", block, LoadDetails, LoadResult)
+fun <T : Any> BuildOperationExecutor.withLoadOperation(stateSizes: ConfigurationCacheStateSizes, block: () -> T) =
+    withOperation("Load configuration cache state", "Loading configuration cache state", block, LoadDetails, stateSizes, ::LoadResult)
 
 
 internal
-fun BuildOperationExecutor.withStoreOperation(@Suppress("UNUSED_PARAMETER") cacheKey: String, block: () -> Unit) =
-    withOperation("Store configuration cache state", "Storing configuration cache state", block, StoreDetails, StoreResult)
+fun BuildOperationExecutor.withStoreOperation(@Suppress("UNUSED_PARAMETER") cacheKey: String, stateSizes: ConfigurationCacheStateSizes, block: () -> Unit) =
+    withOperation("Store configuration cache state", "Storing configuration cache state", block, StoreDetails, stateSizes, ::StoreResult)
+
+
+/**
+ * Counts the bytes of configuration cache state written or read by the load or store operation in progress in the build tree,
+ * as stored on disk and before compression.
+ *
+ * The state streams of all builds of the tree, including the included builds, capture the counter of the operation when they are opened,
+ * so streams opened outside of an operation are not counted.
+ */
+@ServiceScope(Scopes.BuildTree::class)
+class ConfigurationCacheStateSizes {
+
+    @Volatile
+    private
+    var currentOperation: Counter? = null
+
+    /**
+     * The counter of the operation in progress, if any.
+     */
+    val current: Counter?
+        get() = currentOperation
+
+    internal
+    fun <T> countingFor(counter: Counter, block: () -> T): T {
+        currentOperation = counter
+        try {
+            return block()
+        } finally {
+            currentOperation = null
+        }
+    }
+
+    class Counter {
+
+        private
+        val stateSize = AtomicLong()
+
+        private
+        val uncompressedStateSize = AtomicLong()
+
+        fun add(stateSize: Long, uncompressedStateSize: Long) {
+            this.stateSize.addAndGet(stateSize)
+            this.uncompressedStateSize.addAndGet(uncompressedStateSize)
+        }
+
+        val stateSizes: Pair<Long, Long>
+            get() = stateSize.get() to uncompressedStateSize.get()
+    }
+}
 
 
 private
@@ -39,7 +91,13 @@ object LoadDetails : ConfigurationCacheLoadBuildOperationType.Details
 
 
 private
-object LoadResult : ConfigurationCacheLoadBuildOperationType.Result
+class LoadResult(
+    private val size: Long,
+    private val uncompressedSize: Long
+) : ConfigurationCacheLoadBuildOperationType.Result {
+    override fun getStateSize(): Long = size
+    override fun getUncompressedStateSize(): Long = uncompressedSize
+}
 
 
 private
@@ -47,15 +105,33 @@ object StoreDetails : ConfigurationCacheStoreBuildOperationType.Details
 
 
 private
-object StoreResult : ConfigurationCacheStoreBuildOperationType.Result
+class StoreResult(
+    private val size: Long,
+    private val uncompressedSize: Long
+) : ConfigurationCacheStoreBuildOperationType.Result {
+    override fun getStateSize(): Long = size
+    override fun getUncompressedStateSize(): Long = uncompressedSize
+}
 
 
 private
-fun <T : Any, D : Any, R : Any> BuildOperationExecutor.withOperation(displayName: String, progressDisplayName: String, block: () -> T, details: D, result: R): T =
+fun <T : Any, D : Any> BuildOperationExecutor.withOperation(
+    displayName: String,
+    progressDisplayName: String,
+    block: () -> T,
+    details: D,
+    stateSizes: ConfigurationCacheStateSizes,
+    result: (Long, Long) -> Any
+): T =
     call(object : CallableBuildOperation<T> {
         override fun description(): BuildOperationDescriptor.Builder =
             BuildOperationDescriptor.displayName(displayName).progressDisplayName(progressDisplayName).details(details)
 
-        override fun call(context: BuildOperationContext): T =
-            block().also { context.setResult(result) }
+        override fun call(context: BuildOperationContext): T {
+            val counter = ConfigurationCacheStateSizes.Counter()
+            return stateSizes.countingFor(counter, block).also {
+                val (stateSize, uncompressedStateSize) = counter.stateSizes
+                context.setResult(result(stateSize, uncompressedStateSize))
+            }
+        }
     })
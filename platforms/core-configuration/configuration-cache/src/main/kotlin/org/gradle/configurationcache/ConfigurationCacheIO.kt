@@ -16,6 +16,8 @@
 
 package org.gradle.configurationcache
 
+import com.google.common.io.CountingInputStream
+import com.google.common.io.CountingOutputStream
 import org.gradle.api.logging.LogLevel
 import org.gradle.cache.internal.streams.BlockAddress
 import org.gradle.cache.internal.streams.BlockAddressSerializer
@@ -47,12 +49,24 @@ import org.gradle.internal.serialize.Decoder
 import org.gradle.internal.serialize.Encoder
 import org.gradle.internal.serialize.kryo.KryoBackedDecoder
 import org.gradle.internal.serialize.kryo.KryoBackedEncoder
+import org.gradle.internal.serialize.kryo.StringDeduplicatingKryoBackedDecoder
+import org.gradle.internal.serialize.kryo.StringDeduplicatingKryoBackedEncoder
 import org.gradle.internal.service.scopes.Scopes
 import org.gradle.internal.service.scopes.ServiceScope
 import org.gradle.util.Path
 import java.io.File
+import java.io.FilterInputStream
+import java.io.FilterOutputStream
 import java.io.InputStream
 import java.io.OutputStream
+import java.util.zip.Deflater
+import java.util.zip.DeflaterOutputStream
+import java.util.zip.Inflater
+import java.util.zip.InflaterInputStream
+
+
+private
+const val STATE_BUFFER_SIZE = 64 * 1024
 
 
 @ServiceScope(Scopes.Gradle::class)
@@ -63,7 +77,8 @@ class ConfigurationCacheIO internal constructor(
     private val scopeRegistryListener: ConfigurationCacheClassLoaderScopeRegistryListener,
     private val beanStateReaderLookup: BeanStateReaderLookup,
     private val beanStateWriterLookup: BeanStateWriterLookup,
-    private val eventEmitter: BuildOperationProgressEventEmitter
+    private val eventEmitter: BuildOperationProgressEventEmitter,
+    private val stateSizes: ConfigurationCacheStateSizes
 ) {
     private
     val codecs = codecs()
@@ -214,19 +229,24 @@ class ConfigurationCacheIO internal constructor(
      * @param profile the unique name associated with the output stream for debugging space usage issues
      */
     internal
-    fun writerContextFor(outputStream: OutputStream, profile: () -> String): Pair<DefaultWriteContext, Codecs> =
-        KryoBackedEncoder(outputStream).let { encoder ->
-            writeContextFor(
-                encoder,
-                loggingTracerFor(profile, encoder),
-                codecs
-            ) to codecs
+    fun writerContextFor(outputStream: OutputStream, profile: () -> String): Pair<DefaultWriteContext, Codecs> {
+        val stateOutputStream = stateOutputStreamFor(outputStream)
+        val (encoder: Encoder, writePosition: () -> Long) = if (startParameter.compressState) {
+            StringDeduplicatingKryoBackedEncoder(stateOutputStream).let { it to it::getWritePosition }
+        } else {
+            KryoBackedEncoder(stateOutputStream).let { it to it::getWritePosition }
         }
+        return writeContextFor(
+            encoder,
+            loggingTracerFor(profile, writePosition),
+            codecs
+        ) to codecs
+    }
 
     private
-    fun loggingTracerFor(profile: () -> String, encoder: KryoBackedEncoder) =
+    fun loggingTracerFor(profile: () -> String, writePosition: () -> Long) =
         loggingTracerLogLevel()?.let { level ->
-            LoggingTracer(profile(), encoder::getWritePosition, logger, level)
+            LoggingTracer(profile(), writePosition, logger, level)
         }
 
     private
@@ -265,7 +285,93 @@ class ConfigurationCacheIO internal constructor(
     private
     fun readerContextFor(
         inputStream: InputStream,
-    ) = readerContextFor(KryoBackedDecoder(inputStream))
+    ) = stateInputStreamFor(inputStream).let { stateInputStream ->
+        readerContextFor(
+            if (startParameter.compressState) StringDeduplicatingKryoBackedDecoder(stateInputStream)
+            else KryoBackedDecoder(stateInputStream)
+        )
+    }
+
+    /**
+     * Compresses the state written to the given [outputStream], when enabled, and counts the bytes written before and after compression for the operation in progress.
+     */
+    private
+    fun stateOutputStreamFor(outputStream: OutputStream): OutputStream {
+        val counter = stateSizes.current
+        val storedState = CountingOutputStream(outputStream)
+        val state = CountingOutputStream(
+            if (startParameter.compressState) {
+                object : DeflaterOutputStream(storedState, Deflater(Deflater.BEST_SPEED), STATE_BUFFER_SIZE) {
+                    override fun close() {
+                        try {
+                            super.close()
+                        } finally {
+                            def.end()
+                        }
+                    }
+                }
+            } else {
+                storedState
+            }
+        )
+        return object : FilterOutputStream(state) {
+            private
+            var closed = false
+
+            override fun write(b: ByteArray, off: Int, len: Int) {
+                out.write(b, off, len)
+            }
+
+            override fun close() {
+                if (closed) {
+                    return
+                }
+                closed = true
+                try {
+                    super.close()
+                } finally {
+                    counter?.add(storedState.count, state.count)
+                }
+            }
+        }
+    }
+
+    private
+    fun stateInputStreamFor(inputStream: InputStream): InputStream {
+        val counter = stateSizes.current
+        val storedState = CountingInputStream(inputStream)
+        val state = CountingInputStream(
+            if (startParameter.compressState) {
+                object : InflaterInputStream(storedState, Inflater(), STATE_BUFFER_SIZE) {
+                    override fun close() {
+                        try {
+                            super.close()
+                        } finally {
+                            inf.end()
+                        }
+                    }
+                }
+            } else {
+                storedState
+            }
+        )
+        return object : FilterInputStream(state) {
+            private
+            var closed = false
+
+            override fun close() {
+                if (closed) {
+                    return
+                }
+                closed = true
+                try {
+                    super.close()
+                } finally {
+                    counter?.add(storedState.count, state.count)
+                }
+            }
+        }
+    }
 
     internal
     fun readerContextFor(
@@ -336,6 +442,8 @@ class ConfigurationCacheIO internal constructor(
             javaSerializationEncodingLookup = service(),
             flowProviders = service(),
             transformStepNodeFactory = service(),
+            shardTaskState = startParameter.shardTaskState,
+            loadTaskStateLazily = startParameter.loadTaskStateLazily,
         )
 
     private
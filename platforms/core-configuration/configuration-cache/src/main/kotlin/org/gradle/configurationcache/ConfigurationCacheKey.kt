@@ -77,6 +77,7 @@ class ConfigurationCacheKey(
         putBuildScan()
         putBoolean(encryptionConfiguration.isEncrypting)
         putHash(encryptionConfiguration.encryptionKeyHashCode)
+        putBoolean(startParameter.compressState)
     }
 
     private
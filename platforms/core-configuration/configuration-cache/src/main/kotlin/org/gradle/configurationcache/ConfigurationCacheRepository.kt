@@ -47,6 +47,14 @@ import java.nio.file.Files
 import java.nio.file.StandardCopyOption
 
 
+/**
+ * Stores the configuration cache entries in the project cache directory of the build tree.
+ *
+ * Entries are local to the machine that stores them, and are not shared through the build cache:
+ * they are encrypted with a key generated into the Gradle user home of the machine, they record absolute paths
+ * throughout their state and fingerprint, and they reference the classpath of build logic by the location of
+ * the jars in the Gradle user home caches, which the fingerprint of the entry does not cover.
+ */
 @ServiceScope(Scopes.BuildTree::class)
 internal
 class ConfigurationCacheRepository(
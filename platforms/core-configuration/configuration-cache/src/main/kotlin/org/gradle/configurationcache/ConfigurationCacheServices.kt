@@ -63,6 +63,7 @@ class ConfigurationCacheServices : AbstractPluginServiceRegistry() {
             add(DefaultBuildToolingModelControllerFactory::class.java)
             add(ConfigurationCacheRepository::class.java)
             add(InputTrackingState::class.java)
+            add(ConfigurationCacheStateSizes::class.java)
             add(InstrumentedInputAccessListener::class.java)
             add(InstrumentedExecutionAccessListener::class.java)
             addProvider(IgnoredConfigurationInputsProvider)
@@ -67,6 +67,7 @@ class DefaultConfigurationCache internal constructor(
     private val cacheFingerprintController: ConfigurationCacheFingerprintController,
     private val encryptionService: EncryptionService,
     private val resolveStateFactory: LocalComponentGraphResolveStateFactory,
+    private val stateSizes: ConfigurationCacheStateSizes,
     /**
      * Force the [FileSystemAccess] service to be initialized as it initializes important static state.
      */
@@ -352,7 +353,7 @@ class DefaultConfigurationCache internal constructor(
             Instrumented.discardListener()
         }
 
-        buildOperationExecutor.withStoreOperation(cacheKey.string) {
+        buildOperationExecutor.withStoreOperation(cacheKey.string, stateSizes) {
             store.useForStore { layout ->
                 try {
                     action(layout.fileFor(stateType))
@@ -393,7 +394,7 @@ class DefaultConfigurationCache internal constructor(
         // when loading the task graph.
         scopeRegistryListener.dispose()
 
-        val result = buildOperationExecutor.withLoadOperation {
+        val result = buildOperationExecutor.withLoadOperation(stateSizes) {
             store.useForStateLoad(stateType, action)
         }
         crossConfigurationTimeBarrier()
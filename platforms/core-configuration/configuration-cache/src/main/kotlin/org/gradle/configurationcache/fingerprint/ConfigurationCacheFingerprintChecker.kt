@@ -51,6 +51,7 @@ class ConfigurationCacheFingerprintChecker(private val host: Host) {
         val startParameterProperties: Map<String, Any?>
         val buildStartTime: Long
         val invalidateCoupledProjects: Boolean
+        val cacheIntermediateModels: Boolean
         val ignoreInputsInConfigurationCacheTaskGraphWriting: Boolean
         val instrumentationAgentUsed: Boolean
         val ignoredFileSystemCheckInputs: String?
@@ -95,6 +96,10 @@ class ConfigurationCacheFingerprintChecker(private val host: Host) {
                     if (!state.isInvalid) {
                         val reason = check(input.value)
                         if (reason != null) {
+                            if (!host.cacheIntermediateModels) {
+                                // The values of the other projects cannot be reused, so there is no point checking them
+                                return CheckedFingerprint.EntryInvalid(reason)
+                            }
                             if (firstReason == null) {
                                 firstReason = reason
                             }
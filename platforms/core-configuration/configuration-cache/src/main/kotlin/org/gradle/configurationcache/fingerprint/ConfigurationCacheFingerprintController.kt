@@ -390,6 +390,9 @@ class ConfigurationCacheFingerprintController internal constructor(
         override val invalidateCoupledProjects: Boolean
             get() = modelParameters.isInvalidateCoupledProjects
 
+        override val cacheIntermediateModels: Boolean
+            get() = modelParameters.isIntermediateModelCache
+
         override val ignoreInputsInConfigurationCacheTaskGraphWriting: Boolean
             get() = startParameter.isIgnoreInputsInTaskGraphSerialization
 
@@ -46,6 +46,21 @@ class ConfigurationCacheStartParameter(
 
     val taskExecutionAccessPreStable: Boolean = options.getInternalFlag("org.gradle.configuration-cache.internal.task-execution-access-pre-stable")
 
+    /**
+     * See [org.gradle.configurationcache.serialization.codecs.TaskStateShards].
+     */
+    val shardTaskState: Boolean = options.getInternalFlag("org.gradle.configuration-cache.internal.shard-task-state", false)
+
+    /**
+     * Implies [shardTaskState]. See [org.gradle.configurationcache.serialization.codecs.TaskStateShards].
+     */
+    val loadTaskStateLazily: Boolean = options.getInternalFlag("org.gradle.configuration-cache.internal.lazy-task-state", false)
+
+    /**
+     * Whether state files are compressed, with their strings deduplicated. Part of the cache key, as it changes the format of the state files.
+     */
+    val compressState: Boolean = options.getInternalFlag("org.gradle.configuration-cache.internal.compress-state", false)
+
     val encryptionRequested: Boolean = options.getInternalFlag("org.gradle.configuration-cache.internal.encryption", true)
 
     val keystoreDir: String? = options.getInternalString("org.gradle.configuration-cache.internal.key-store-dir", null)
@@ -260,8 +260,15 @@ inline fun <T : Any> WriteContext.encodePreservingIdentityOf(reference: T, encod
 
 
 internal
-inline fun <T : Any> WriteContext.encodePreservingSharedIdentityOf(reference: T, encode: WriteContext.(T) -> Unit) =
-    encodePreservingIdentityOf(sharedIdentities, reference, encode)
+suspend fun <T : Any> WriteContext.encodePreservingSharedIdentityOf(reference: T, encode: suspend WriteContext.(T) -> Unit) {
+    if (this is DefaultWriteContext) {
+        writeSharedObject(reference, encode)
+    } else {
+        encodePreservingIdentityOf(sharedIdentities, reference) {
+            encode(it)
+        }
+    }
+}
 
 
 internal
@@ -288,10 +295,14 @@ inline fun <T> ReadContext.decodePreservingIdentity(decode: ReadContext.(Int) ->
 
 
 internal
-inline fun <T : Any> ReadContext.decodePreservingSharedIdentity(decode: ReadContext.(Int) -> T): T =
-    decodePreservingIdentity(sharedIdentities) { id ->
-        decode(id).also {
-            sharedIdentities.putInstance(id, it)
+suspend fun <T : Any> ReadContext.decodePreservingSharedIdentity(decode: suspend ReadContext.(Int) -> T): T =
+    if (this is DefaultReadContext) {
+        readSharedObject(decode)
+    } else {
+        decodePreservingIdentity(sharedIdentities) { id ->
+            decode(id).also {
+                sharedIdentities.putInstance(id, it)
+            }
         }
     }
 
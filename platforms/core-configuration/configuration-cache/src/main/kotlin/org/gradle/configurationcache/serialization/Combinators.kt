@@ -27,6 +27,8 @@ import org.gradle.internal.serialize.BaseSerializerFactory
 import org.gradle.internal.serialize.Decoder
 import org.gradle.internal.serialize.Encoder
 import org.gradle.internal.serialize.Serializer
+import org.gradle.internal.serialize.kryo.StringDeduplicatingKryoBackedDecoder
+import org.gradle.internal.serialize.kryo.StringDeduplicatingKryoBackedEncoder
 
 import java.io.File
 import java.io.ObjectInputStream
@@ -339,15 +341,49 @@ fun Decoder.readTransformedClassPath(): ClassPath {
 }
 
 
+/**
+ * Writes the [file] as its path or, when the strings are deduplicated, as its parent directory and name,
+ * so that the files of a directory share the string of the directory.
+ */
 internal
 fun Encoder.writeFile(file: File) {
-    BaseSerializerFactory.FILE_SERIALIZER.write(this, file)
+    if (isDeduplicatingStrings) {
+        val parent = file.parent
+        writeNullableString(parent)
+        writeString(if (parent == null) file.path else file.name)
+    } else {
+        BaseSerializerFactory.FILE_SERIALIZER.write(this, file)
+    }
 }
 
 
 internal
 fun Decoder.readFile(): File =
-    BaseSerializerFactory.FILE_SERIALIZER.read(this)
+    if (isDeduplicatingStrings) {
+        val parent = readNullableString()
+        val name = readString()
+        if (parent == null) File(name) else File(parent, name)
+    } else {
+        BaseSerializerFactory.FILE_SERIALIZER.read(this)
+    }
+
+
+private
+val Encoder.isDeduplicatingStrings: Boolean
+    get() = when (this) {
+        is StringDeduplicatingKryoBackedEncoder -> true
+        is DefaultWriteContext -> isDeduplicatingStrings
+        else -> false
+    }
+
+
+private
+val Decoder.isDeduplicatingStrings: Boolean
+    get() = when (this) {
+        is StringDeduplicatingKryoBackedDecoder -> true
+        is DefaultReadContext -> isDeduplicatingStrings
+        else -> false
+    }
 
 
 internal
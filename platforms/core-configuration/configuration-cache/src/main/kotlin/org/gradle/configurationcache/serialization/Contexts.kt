@@ -22,6 +22,7 @@ import org.gradle.api.internal.project.ProjectInternal
 import org.gradle.api.logging.LogLevel
 import org.gradle.api.logging.Logger
 import org.gradle.configurationcache.ClassLoaderScopeSpec
+import org.gradle.configurationcache.extensions.uncheckedCast
 import org.gradle.configurationcache.problems.ProblemsListener
 import org.gradle.configurationcache.problems.PropertyProblem
 import org.gradle.configurationcache.problems.PropertyTrace
@@ -36,11 +37,33 @@ import org.gradle.internal.Describables
 import org.gradle.internal.hash.HashCode
 import org.gradle.internal.serialize.Decoder
 import org.gradle.internal.serialize.Encoder
+import org.gradle.internal.serialize.kryo.KryoBackedDecoder
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder
+import org.gradle.internal.serialize.kryo.StringDeduplicatingKryoBackedDecoder
+import org.gradle.internal.serialize.kryo.StringDeduplicatingKryoBackedEncoder
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+
+
+/**
+ * Tags of the definitions written by a context while its shards are encoded.
+ */
+internal
+const val END_OF_DEFINITIONS = 0
+
+
+internal
+const val CLASS_DEFINITION = 1
+
+
+internal
+const val SHARED_OBJECT_DEFINITION = 2
 
 
 internal
 class DefaultWriteContext(
-    codec: Codec<Any?>,
+    private
+    val baseCodec: Codec<Any?>,
 
     private
     val encoder: Encoder,
@@ -55,12 +78,26 @@ class DefaultWriteContext(
 
     override val tracer: Tracer?,
 
-    problemsListener: ProblemsListener
+    internal
+    val problemsListener: ProblemsListener,
 
-) : AbstractIsolateContext<WriteIsolate>(codec, problemsListener), WriteContext, Encoder by encoder, AutoCloseable {
+    /**
+     * The context that defines the classes and the shared objects written by this context, when this context is a shard of it.
+     */
+    private
+    val host: DefaultWriteContext? = null
+
+) : AbstractIsolateContext<WriteIsolate>(baseCodec, problemsListener), WriteContext, Encoder by encoder, AutoCloseable {
 
     override val sharedIdentities = WriteIdentities()
 
+    /**
+     * Whether the strings written by this context are deduplicated.
+     */
+    internal
+    val isDeduplicatingStrings: Boolean
+        get() = encoder is StringDeduplicatingKryoBackedEncoder
+
     override val circularReferences = CircularReferences()
 
     private
@@ -88,7 +125,23 @@ class DefaultWriteContext(
         }
     }
 
+    /**
+     * Creates a context that encodes values to the given [encoder] independently of this context, so they can be
+     * decoded independently of the values written by this context, except for classes and shared objects which are
+     * still defined by this context.
+     *
+     * @see defineClass
+     * @see defineSharedObject
+     */
+    internal
+    fun newShardContext(encoder: Encoder, problemsListener: ProblemsListener) =
+        DefaultWriteContext(baseCodec, encoder, scopeLookup, beanStateWriterLookup, logger, null, problemsListener, host ?: this)
+
     override fun writeClass(type: Class<*>) {
+        if (host != null) {
+            writeSmallInt(host.defineClass(type))
+            return
+        }
         val id = classes.getId(type)
         if (id != null) {
             writeSmallInt(id)
@@ -107,6 +160,66 @@ class DefaultWriteContext(
         }
     }
 
+    /**
+     * Writes the given [type], unless already written, as a definition, and returns its id.
+     *
+     * The reader is expected to read the definitions with [DefaultReadContext.readDefinitions].
+     */
+    private
+    fun defineClass(type: Class<*>): Int {
+        val id = classes.getId(type)
+        if (id != null) {
+            return id
+        }
+        writeSmallInt(CLASS_DEFINITION)
+        writeClass(type)
+        return classes.getId(type)!!
+    }
+
+    /**
+     * Writes the given shared [reference], with the given [encode] function unless already written, preserving its identity.
+     *
+     * When this context is a shard, the shared objects are defined by the host context instead, so that the shards that reference
+     * the same object decode the same instance.
+     */
+    internal
+    suspend fun <T : Any> writeSharedObject(reference: T, encode: suspend WriteContext.(T) -> Unit) {
+        if (host == null) {
+            encodePreservingIdentityOf(sharedIdentities, reference) {
+                encode(it)
+            }
+        } else {
+            writeSmallInt(defineSharedObject(reference, encode))
+        }
+    }
+
+    /**
+     * Writes the given shared [reference], unless already written, as a definition of the host context, and returns its id.
+     *
+     * The object is encoded by its own shard context into a binary value of the definition, with the isolate and codec of this context,
+     * so that it is decoded by the first shard that reads it, whichever it is.
+     */
+    private
+    suspend fun <T : Any> defineSharedObject(reference: T, encode: suspend WriteContext.(T) -> Unit): Int {
+        val host = host!!
+        val id = host.sharedIdentities.getId(reference)
+        if (id != null) {
+            return id
+        }
+        val newId = host.sharedIdentities.putInstance(reference)
+        val outputStream = ByteArrayOutputStream()
+        newShardContext(KryoBackedEncoder(outputStream), problemsListener).use { definitionContext ->
+            definitionContext.trace = trace
+            definitionContext.withIsolate(isolate.owner, getCodec()) {
+                encode(reference)
+            }
+        }
+        host.writeSmallInt(SHARED_OBJECT_DEFINITION)
+        host.writeSmallInt(newId)
+        host.writeBinary(outputStream.toByteArray())
+        return newId
+    }
+
     private
     fun writeScope(scope: ClassLoaderScopeSpec) {
         val id = scopes.getId(scope)
@@ -207,7 +320,8 @@ interface ScopeLookup {
 
 internal
 class DefaultReadContext(
-    codec: Codec<Any?>,
+    private
+    val baseCodec: Codec<Any?>,
 
     private
     val decoder: Decoder,
@@ -217,12 +331,33 @@ class DefaultReadContext(
 
     override val logger: Logger,
 
-    problemsListener: ProblemsListener
+    private
+    val problemsListener: ProblemsListener,
 
-) : AbstractIsolateContext<ReadIsolate>(codec, problemsListener), ReadContext, Decoder by decoder, AutoCloseable {
+    /**
+     * The context that defines the classes and the shared objects read by this context, when this context is a shard of it.
+     */
+    private
+    val host: DefaultReadContext? = null
+
+) : AbstractIsolateContext<ReadIsolate>(baseCodec, problemsListener), ReadContext, Decoder by decoder, AutoCloseable {
 
     override val sharedIdentities = ReadIdentities()
 
+    /**
+     * Whether the strings read by this context are deduplicated.
+     */
+    internal
+    val isDeduplicatingStrings: Boolean
+        get() = decoder is StringDeduplicatingKryoBackedDecoder
+
+    /**
+     * The binary values of the shared objects defined for the shards of this context, that have not been decoded yet.
+     * Also guards the [sharedIdentities] of this context, as the shards are decoded concurrently.
+     */
+    private
+    val sharedObjectDefinitions = HashMap<Int, ByteArray>()
+
     private
     val classes = ReadIdentities()
 
@@ -275,7 +410,22 @@ class DefaultReadContext(
     override fun beanStateReaderFor(beanType: Class<*>): BeanStateReader =
         beanStateReaderLookup.beanStateReaderFor(beanType)
 
+    /**
+     * Creates a context that decodes values written by a context created with [DefaultWriteContext.newShardContext].
+     *
+     * The classes referenced by these values must have been read by this context before.
+     */
+    internal
+    fun newShardContext(decoder: Decoder) =
+        DefaultReadContext(baseCodec, decoder, beanStateReaderLookup, logger, problemsListener, host ?: this).also {
+            it.initClassLoader(classLoader)
+            it.initProjectProvider(projectProvider)
+        }
+
     override fun readClass(): Class<*> {
+        if (host != null) {
+            return host.definedClass(readSmallInt())
+        }
         val id = readSmallInt()
         val type = classes.getInstance(id)
         if (type != null) {
@@ -297,6 +447,81 @@ class DefaultReadContext(
         return newType
     }
 
+    /**
+     * Reads the definitions written by [DefaultWriteContext.defineClass] and [DefaultWriteContext.defineSharedObject],
+     * up to the end of the definitions.
+     */
+    internal
+    fun readDefinitions() {
+        while (true) {
+            when (val tag = readSmallInt()) {
+                END_OF_DEFINITIONS -> return
+                CLASS_DEFINITION -> readClass()
+                SHARED_OBJECT_DEFINITION -> {
+                    val id = readSmallInt()
+                    val definition = readBinary()
+                    synchronized(sharedObjectDefinitions) {
+                        sharedObjectDefinitions[id] = definition
+                    }
+                }
+                else -> throw IllegalStateException("Unexpected definition tag $tag.")
+            }
+        }
+    }
+
+    /**
+     * Reads a shared object written by [DefaultWriteContext.writeSharedObject], decoding it with the given [decode] function
+     * unless already decoded.
+     */
+    internal
+    suspend fun <T : Any> readSharedObject(decode: suspend ReadContext.(Int) -> T): T {
+        val id = readSmallInt()
+        val owner = host ?: this
+        synchronized(owner.sharedObjectDefinitions) {
+            val instance = owner.sharedIdentities.getInstance(id)
+            if (instance != null) {
+                return instance.uncheckedCast()
+            }
+            val definition = owner.sharedObjectDefinitions.remove(id)
+            if (definition != null) {
+                return decodeSharedObject(id, definition, decode).also {
+                    owner.sharedIdentities.putInstance(id, it)
+                }
+            }
+        }
+        require(host == null) {
+            "Shared object with id $id has not been defined."
+        }
+        return decode(id).also {
+            sharedIdentities.putInstance(id, it)
+        }
+    }
+
+    private
+    fun <T : Any> decodeSharedObject(id: Int, definition: ByteArray, decode: suspend ReadContext.(Int) -> T): T {
+        val definitionContext = newShardContext(KryoBackedDecoder(ByteArrayInputStream(definition)))
+        definitionContext.trace = trace
+        onFinish {
+            definitionContext.finish()
+        }
+        return definitionContext.use {
+            definitionContext.withIsolate(isolate.owner, getCodec()) {
+                definitionContext.runReadOperation {
+                    decode(id)
+                }
+            }
+        }
+    }
+
+    private
+    fun definedClass(id: Int): Class<*> {
+        val type = classes.getInstance(id)
+        require(type != null) {
+            "Class with id $id has not been defined."
+        }
+        return type as Class<*>
+    }
+
     private
     fun readScope(): ClassLoaderScope {
         val id = readSmallInt()
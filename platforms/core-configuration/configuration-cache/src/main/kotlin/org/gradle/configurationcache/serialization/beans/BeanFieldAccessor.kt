@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configurationcache.serialization.beans
+
+import java.lang.invoke.MethodHandle
+import java.lang.invoke.MethodHandles
+import java.lang.invoke.MethodType.methodType
+import java.lang.reflect.Field
+
+
+/**
+ * Gets and sets the value of a field of beans.
+ */
+abstract class BeanFieldAccessor {
+
+    abstract fun get(bean: Any): Any?
+
+    abstract fun set(bean: Any, value: Any?)
+}
+
+
+/**
+ * Returns an accessor for the given accessible [field], backed by method handles when they can be created for the field,
+ * falling back to reflection otherwise.
+ */
+fun beanFieldAccessorFor(field: Field): BeanFieldAccessor =
+    methodHandleAccessorFor(field) ?: reflectiveAccessorFor(field)
+
+
+fun reflectiveAccessorFor(field: Field): BeanFieldAccessor =
+    ReflectiveFieldAccessor(field)
+
+
+fun methodHandleAccessorFor(field: Field): BeanFieldAccessor? =
+    try {
+        val lookup = MethodHandles.lookup()
+        MethodHandleFieldAccessor(
+            lookup.unreflectGetter(field).asType(methodType(Any::class.java, Any::class.java)),
+            // Adapted to return an object, as the return type of a polymorphic call is always an object in Kotlin
+            lookup.unreflectSetter(field).asType(methodType(Any::class.java, Any::class.java, Any::class.java))
+        )
+    } catch (e: IllegalAccessException) {
+        // Final fields of some classes, for instance, cannot be set through a method handle
+        null
+    }
+
+
+private
+class ReflectiveFieldAccessor(private val field: Field) : BeanFieldAccessor() {
+
+    override fun get(bean: Any): Any? =
+        field.get(bean)
+
+    override fun set(bean: Any, value: Any?) {
+        field.set(bean, value)
+    }
+}
+
+
+private
+class MethodHandleFieldAccessor(
+    private val getter: MethodHandle,
+    private val setter: MethodHandle
+) : BeanFieldAccessor() {
+
+    override fun get(bean: Any): Any? =
+        getter.invokeExact(bean)
+
+    override fun set(bean: Any, value: Any?) {
+        setter.invokeExact(bean, value)
+    }
+}
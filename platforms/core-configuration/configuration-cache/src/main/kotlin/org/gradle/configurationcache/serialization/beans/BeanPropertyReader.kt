@@ -31,7 +31,6 @@ import org.gradle.internal.reflect.JavaReflectionUtil
 import org.gradle.internal.service.ServiceRegistry
 import org.gradle.internal.state.ModelObject
 import java.io.IOException
-import java.lang.reflect.Field
 
 
 class BeanPropertyReader(
@@ -66,7 +65,7 @@ class BeanPropertyReader(
                 reportUnsupportedFieldType(it, "deserialize", fieldName)
             }
             readPropertyValue(PropertyKind.Field, fieldName) { fieldValue ->
-                set(bean, field, fieldValue)
+                set(bean, relevantField, fieldValue)
             }
         }
         if (bean is ModelObject) {
@@ -75,10 +74,10 @@ class BeanPropertyReader(
     }
 
     private
-    fun ReadContext.set(bean: Any, field: Field, value: Any?) {
-        val type = field.type
+    fun ReadContext.set(bean: Any, relevantField: RelevantField, value: Any?) {
+        val type = relevantField.field.type
         if (isAssignableTo(type, value)) {
-            field.set(bean, value)
+            relevantField.accessor.set(bean, value)
         } else if (value != null) {
             logPropertyProblem("deserialize") {
                 text("value ")
@@ -42,9 +42,9 @@ class BeanPropertyWriter(
             val field = relevantField.field
             val fieldName = field.name
             val fieldValue =
-                when (val isExplicitValue = relevantField.isExplicitValueField) {
-                    null -> field.get(bean)
-                    else -> conventionValueOf(bean, field, isExplicitValue)
+                when (val isExplicitValue = relevantField.isExplicitValueAccessor) {
+                    null -> relevantField.accessor.get(bean)
+                    else -> conventionValueOf(bean, relevantField, isExplicitValue)
                 }
             relevantField.unsupportedFieldType?.let {
                 reportUnsupportedFieldType(it, "serialize", fieldName, fieldValue)
@@ -56,8 +56,9 @@ class BeanPropertyWriter(
     }
 
     private
-    fun conventionValueOf(bean: Any, field: Field, isExplicitValue: Field) =
-        field.get(bean).let { fieldValue ->
+    fun conventionValueOf(bean: Any, relevantField: RelevantField, isExplicitValue: BeanFieldAccessor) =
+        relevantField.accessor.get(bean).let { fieldValue ->
+            val field = relevantField.field
             if (isExplicitValue.get(bean).uncheckedCast()) {
                 fieldValue
             } else {
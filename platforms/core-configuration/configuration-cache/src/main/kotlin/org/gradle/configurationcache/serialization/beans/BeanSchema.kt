@@ -41,12 +41,24 @@ val unsupportedFieldDeclaredTypes = listOf(
 )
 
 
+/**
+ * Returns the fields to serialize for beans of the given type.
+ *
+ * The fields, and their accessors, are computed once per type, and are kept for as long as the type is loaded.
+ */
 internal
 fun relevantStateOf(beanType: Class<*>): List<RelevantField> =
-    when (IConventionAware::class.java.isAssignableFrom(beanType)) {
-        true -> applyConventionMappingTo(beanType, relevantFieldsOf(beanType))
-        else -> relevantFieldsOf(beanType)
-    }
+    relevantStateByType.get(beanType)
+
+
+private
+val relevantStateByType = object : ClassValue<List<RelevantField>>() {
+    override fun computeValue(type: Class<*>): List<RelevantField> =
+        when (IConventionAware::class.java.isAssignableFrom(type)) {
+            true -> applyConventionMappingTo(type, relevantFieldsOf(type))
+            else -> relevantFieldsOf(type)
+        }
+}
 
 
 private
@@ -106,7 +118,11 @@ data class RelevantField(
      * whether a convention mapped property has been explicitly set or not.
      */
     val isExplicitValueField: Field? = null
-)
+) {
+    val accessor = beanFieldAccessorFor(field)
+
+    val isExplicitValueAccessor = isExplicitValueField?.let(::beanFieldAccessorFor)
+}
 
 
 internal
@@ -76,7 +76,6 @@ import org.gradle.internal.serialize.BaseSerializerFactory.BYTE_ARRAY_SERIALIZER
 import org.gradle.internal.serialize.BaseSerializerFactory.BYTE_SERIALIZER
 import org.gradle.internal.serialize.BaseSerializerFactory.CHAR_SERIALIZER
 import org.gradle.internal.serialize.BaseSerializerFactory.DOUBLE_SERIALIZER
-import org.gradle.internal.serialize.BaseSerializerFactory.FILE_SERIALIZER
 import org.gradle.internal.serialize.BaseSerializerFactory.FLOAT_SERIALIZER
 import org.gradle.internal.serialize.BaseSerializerFactory.HASHCODE_SERIALIZER
 import org.gradle.internal.serialize.BaseSerializerFactory.INTEGER_SERIALIZER
@@ -103,7 +102,7 @@ class Codecs(
     val taskNodeFactory: TaskNodeFactory,
     val ordinalGroupFactory: OrdinalGroupFactory,
     inputFingerprinter: InputFingerprinter,
-    buildOperationExecutor: BuildOperationExecutor,
+    private val buildOperationExecutor: BuildOperationExecutor,
     classLoaderHierarchyHasher: ClassLoaderHierarchyHasher,
     isolatableFactory: IsolatableFactory,
     managedFactoryRegistry: ManagedFactoryRegistry,
@@ -121,6 +120,8 @@ class Codecs(
     val javaSerializationEncodingLookup: JavaSerializationEncodingLookup,
     flowProviders: FlowProviders,
     transformStepNodeFactory: TransformStepNodeFactory,
+    private val shardTaskState: Boolean = false,
+    private val loadTaskStateLazily: Boolean = false,
 ) {
     private
     val userTypesBindings: Bindings
@@ -258,10 +259,10 @@ class Codecs(
         bind(DefaultResolvableArtifactCodec(calculatedValueContainerFactory))
     }
 
-    fun internalTypesCodec(): Codec<Any?> = internalTypesBindings.append {
+    fun internalTypesCodec(taskStateShards: TaskStateShards = TaskStateShards(false, false, buildOperationExecutor)): Codec<Any?> = internalTypesBindings.append {
         val userTypesCodec = userTypesCodec()
 
-        bind(TaskNodeCodec(userTypesCodec, taskNodeFactory))
+        bind(TaskNodeCodec(userTypesCodec, taskNodeFactory, taskStateShards))
         bind(DelegatingCodec<TransformStepNode>(userTypesCodec))
         bind(ActionNodeCodec(userTypesCodec))
         bind(OrdinalNodeCodec(ordinalGroupFactory))
@@ -341,7 +342,7 @@ class Codecs(
         bind(BYTE_SERIALIZER)
         bind(FLOAT_SERIALIZER)
         bind(DOUBLE_SERIALIZER)
-        bind(FILE_SERIALIZER)
+        bind(FileCodec)
         bind(PATH_SERIALIZER)
         bind(BIG_INTEGER_SERIALIZER)
         bind(BIG_DECIMAL_SERIALIZER)
@@ -395,6 +396,8 @@ class Codecs(
         bind(BuildIdentifierSerializer())
     }
 
-    fun workNodeCodecFor(gradle: GradleInternal) =
-        WorkNodeCodec(gradle, internalTypesCodec(), ordinalGroupFactory)
+    fun workNodeCodecFor(gradle: GradleInternal): WorkNodeCodec {
+        val taskStateShards = TaskStateShards(shardTaskState || loadTaskStateLazily, loadTaskStateLazily, buildOperationExecutor)
+        return WorkNodeCodec(gradle, internalTypesCodec(taskStateShards), ordinalGroupFactory, taskStateShards)
+    }
 }
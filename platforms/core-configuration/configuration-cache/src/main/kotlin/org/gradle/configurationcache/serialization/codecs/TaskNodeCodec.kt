@@ -66,7 +66,8 @@ import org.gradle.util.internal.DeferredUtil
 
 class TaskNodeCodec(
     private val userTypesCodec: Codec<Any?>,
-    private val taskNodeFactory: TaskNodeFactory
+    private val taskNodeFactory: TaskNodeFactory,
+    private val taskStateShards: TaskStateShards
 ) : Codec<LocalTaskNode> {
 
     override suspend fun WriteContext.encode(value: LocalTaskNode) {
@@ -94,28 +95,37 @@ class TaskNodeCodec(
             writeNullableString(task.reasonTaskIsIncompatibleWithConfigurationCache.orElse(null))
 
             withDebugFrame({ taskType.name }) {
-                withTaskOf(taskType, task, userTypesCodec) {
-                    writeUpToDateSpec(task)
-                    writeCollection(task.outputs.cacheIfSpecs)
-                    writeCollection(task.outputs.doNotCacheIfSpecs)
-                    writeReasonNotToTrackState(task)
-                    beanStateWriterFor(task.javaClass).run {
-                        writeStateOf(task)
-                        withTaskReferencesAllowed {
-                            writeRegisteredPropertiesOf(
-                                task,
-                                this as BeanPropertyWriter
-                            )
-                        }
+                taskStateShards.run {
+                    writeStateOf {
+                        writeTaskState(taskType, task)
                     }
-                    writeDestroyablesOf(task)
-                    writeLocalStateOf(task)
-                    writeRequiredServices(task)
                 }
             }
         }
     }
 
+    private
+    suspend fun WriteContext.writeTaskState(taskType: Class<*>, task: TaskInternal) {
+        withTaskOf(taskType, task, userTypesCodec) {
+            writeUpToDateSpec(task)
+            writeCollection(task.outputs.cacheIfSpecs)
+            writeCollection(task.outputs.doNotCacheIfSpecs)
+            writeReasonNotToTrackState(task)
+            beanStateWriterFor(task.javaClass).run {
+                writeStateOf(task)
+                withTaskReferencesAllowed {
+                    writeRegisteredPropertiesOf(
+                        task,
+                        this as BeanPropertyWriter
+                    )
+                }
+            }
+            writeDestroyablesOf(task)
+            writeLocalStateOf(task)
+            writeRequiredServices(task)
+        }
+    }
+
     private
     suspend fun ReadContext.readTask(): Task {
         val taskType = readClassOf<Task>()
@@ -126,6 +136,17 @@ class TaskNodeCodec(
 
         val task = createTask(projectPath, taskName, taskType, uniqueId, incompatibleReason)
 
+        taskStateShards.run {
+            readStateOf(task) {
+                readTaskState(taskType, task)
+            }
+        }
+
+        return task
+    }
+
+    private
+    suspend fun ReadContext.readTaskState(taskType: Class<out Task>, task: TaskInternal) {
         withTaskOf(taskType, task, userTypesCodec) {
             readUpToDateSpec(task)
             readCollectionInto { task.outputs.cacheIfSpecs.uncheckedCast() }
@@ -139,8 +160,6 @@ class TaskNodeCodec(
             readLocalStateOf(task)
             readRequiredServices(task)
         }
-
-        return task
     }
 
     private
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configurationcache.serialization.codecs
+
+import org.gradle.api.Task
+import org.gradle.api.internal.TaskInternal
+import org.gradle.configurationcache.serialization.DefaultReadContext
+import org.gradle.configurationcache.serialization.DefaultWriteContext
+import org.gradle.configurationcache.serialization.END_OF_DEFINITIONS
+import org.gradle.configurationcache.serialization.ReadContext
+import org.gradle.configurationcache.serialization.WriteContext
+import org.gradle.configurationcache.serialization.runReadOperation
+import org.gradle.execution.plan.LocalTaskNode
+import org.gradle.execution.plan.Node
+import org.gradle.internal.operations.BuildOperationContext
+import org.gradle.internal.operations.BuildOperationDescriptor
+import org.gradle.internal.operations.BuildOperationExecutor
+import org.gradle.internal.operations.RunnableBuildOperation
+import org.gradle.internal.serialize.kryo.KryoBackedDecoder
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.util.IdentityHashMap
+
+
+/**
+ * Encodes the state of tasks separately from the work graph, so that it can be decoded concurrently,
+ * one shard per project, once the whole work graph has been read.
+ *
+ * The work graph, including the identity of each task, acts as the header of the shards. The state of each task
+ * is encoded by its own context into a binary value of the work graph, and so can be decoded independently of
+ * the rest of the work graph. Classes and objects shared with other nodes, such as value sources or the results of transforms,
+ * are defined by the work graph context instead, right before the state of the task that first references them, so that
+ * the state of each task is encoded only once and the shards that reference the same object decode the same instance.
+ *
+ * When [loadLazily] is set, the state of each task is decoded right before the task executes instead, on the worker
+ * executing it, so that loading the work graph does not wait for the state of all tasks to be decoded.
+ */
+class TaskStateShards(
+    private val enabled: Boolean,
+    private val loadLazily: Boolean,
+    private val buildOperationExecutor: BuildOperationExecutor
+) {
+    private
+    val pendingShards = LinkedHashMap<String, MutableList<PendingTaskState>>()
+
+    suspend fun WriteContext.writeStateOf(encodeState: suspend WriteContext.() -> Unit) {
+        val shardedState =
+            if (enabled && this is DefaultWriteContext) encodeIndependently(encodeState)
+            else null
+        writeSmallInt(END_OF_DEFINITIONS)
+        if (shardedState != null) {
+            writeBoolean(true)
+            writeBinary(shardedState)
+        } else {
+            writeBoolean(false)
+            encodeState()
+        }
+    }
+
+    suspend fun ReadContext.readStateOf(task: TaskInternal, decodeState: suspend ReadContext.() -> Unit) {
+        if (this is DefaultReadContext) {
+            readDefinitions()
+        } else {
+            require(readSmallInt() == END_OF_DEFINITIONS)
+        }
+        if (readBoolean()) {
+            val shardedState = readBinary()
+            pendingShards.getOrPut(task.project.path) { ArrayList() }.add(PendingTaskState(task, shardedState, decodeState))
+        } else {
+            decodeState()
+        }
+    }
+
+    /**
+     * Decodes the state of the tasks read by [readStateOf] so far, one build operation per project,
+     * or defers it to the execution of the given [nodes].
+     */
+    fun ReadContext.readPendingStates(nodes: List<Node>) {
+        if (pendingShards.isEmpty()) {
+            return
+        }
+        val headerContext = this as DefaultReadContext
+        val shards = pendingShards.entries.toList()
+        pendingShards.clear()
+        if (loadLazily) {
+            deferStates(headerContext, shards.flatMap { it.value }, nodes)
+            return
+        }
+        buildOperationExecutor.runAllWithAccessToProjectState<RunnableBuildOperation> {
+            for ((projectPath, states) in shards) {
+                add(object : RunnableBuildOperation {
+                    override fun description(): BuildOperationDescriptor.Builder =
+                        BuildOperationDescriptor.displayName("Load configuration cache state of tasks in project $projectPath")
+
+                    override fun run(context: BuildOperationContext) {
+                        for (state in states) {
+                            headerContext.decodeIndependently(state)
+                        }
+                    }
+                })
+            }
+        }
+    }
+
+    private
+    fun deferStates(headerContext: DefaultReadContext, states: List<PendingTaskState>, nodes: List<Node>) {
+        val nodesByTask = IdentityHashMap<Task, LocalTaskNode>()
+        for (node in nodes) {
+            if (node is LocalTaskNode) {
+                nodesByTask[node.task] = node
+            }
+        }
+        for (state in states) {
+            nodesByTask.getValue(state.task).loadStateBeforeExecution {
+                headerContext.decodeIndependently(state)
+            }
+        }
+    }
+
+    private
+    suspend fun DefaultWriteContext.encodeIndependently(encodeState: suspend WriteContext.() -> Unit): ByteArray {
+        val outputStream = ByteArrayOutputStream()
+        newShardContext(KryoBackedEncoder(outputStream), problemsListener).use { shardContext ->
+            shardContext.encodeState()
+        }
+        return outputStream.toByteArray()
+    }
+
+    private
+    fun DefaultReadContext.decodeIndependently(state: PendingTaskState) {
+        val decodeState = state.decodeState
+        newShardContext(KryoBackedDecoder(ByteArrayInputStream(state.bytes))).use { shardContext ->
+            shardContext.runReadOperation {
+                decodeState()
+            }
+            shardContext.finish()
+        }
+    }
+
+    private
+    class PendingTaskState(
+        val task: TaskInternal,
+        val bytes: ByteArray,
+        val decodeState: suspend ReadContext.() -> Unit
+    )
+}
@@ -44,7 +44,8 @@ internal
 class WorkNodeCodec(
     private val owner: GradleInternal,
     private val internalTypesCodec: Codec<Any?>,
-    private val ordinalGroups: OrdinalGroupFactory
+    private val ordinalGroups: OrdinalGroupFactory,
+    private val taskStateShards: TaskStateShards
 ) {
 
     suspend fun WriteContext.writeWork(nodes: List<Node>) {
@@ -95,6 +96,9 @@ class WorkNodeCodec(
             readSuccessorReferencesOf(node, nodesById)
             node.group = readNodeGroup(nodesById)
         }
+        taskStateShards.run {
+            readPendingStates(nodes)
+        }
         return nodes
     }
 
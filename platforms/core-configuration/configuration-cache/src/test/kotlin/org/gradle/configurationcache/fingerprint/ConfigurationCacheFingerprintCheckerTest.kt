@@ -47,7 +47,9 @@ import org.gradle.internal.hash.HashCode
 import org.gradle.internal.hash.TestHashCodes
 import org.gradle.internal.serialize.Decoder
 import org.gradle.internal.serialize.Encoder
+import org.gradle.util.Path
 import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.instanceOf
 import org.hamcrest.MatcherAssert.assertThat
 import org.junit.Test
 import java.io.File
@@ -201,6 +203,51 @@ class ConfigurationCacheFingerprintCheckerTest {
         )
     }
 
+    @Test
+    fun `all invalid projects are reported when project values can be reused`() {
+        val checkedFingerprint = checkProjectScopedFingerprintGiven(cacheIntermediateModels = true)
+
+        assertThat(checkedFingerprint, instanceOf(CheckedFingerprint.ProjectsInvalid::class.java))
+        checkedFingerprint as CheckedFingerprint.ProjectsInvalid
+        assertThat(checkedFingerprint.reason, equalTo("file 'a.gradle' has changed"))
+        assertThat(checkedFingerprint.invalidProjects, equalTo(setOf(Path.path(":a"), Path.path(":b"))))
+    }
+
+    @Test
+    fun `first invalid project invalidates the entry when project values cannot be reused`() {
+        val checkedFingerprint = checkProjectScopedFingerprintGiven(cacheIntermediateModels = false)
+
+        assertThat(checkedFingerprint, instanceOf(CheckedFingerprint.EntryInvalid::class.java))
+        assertThat((checkedFingerprint as CheckedFingerprint.EntryInvalid).reason, equalTo("file 'a.gradle' has changed"))
+    }
+
+    private
+    fun checkProjectScopedFingerprintGiven(cacheIntermediateModels: Boolean): CheckedFingerprint {
+        val host = mock<ConfigurationCacheFingerprintChecker.Host> {
+            on { this.cacheIntermediateModels } doReturn cacheIntermediateModels
+            on { hashCodeOf(any()) } doReturn TestHashCodes.hashCodeFrom(2)
+            on { displayNameOf(any()) }.then { invocation ->
+                invocation.getArgument<File>(0).name
+            }
+        }
+        val readContext = recordWritingOf {
+            for (project in listOf("a", "b")) {
+                write(
+                    ProjectSpecificFingerprint.ProjectFingerprint(
+                        Path.path(":$project"),
+                        ConfigurationCacheFingerprint.InputFile(File("$project.gradle"), TestHashCodes.hashCodeFrom(1))
+                    )
+                )
+            }
+            write(null)
+        }
+        return readContext.runReadOperation {
+            ConfigurationCacheFingerprintChecker(host).run {
+                checkProjectScopedFingerprint()
+            }
+        }
+    }
+
     private
     fun invalidationReasonForInitScriptsChange(
         from: Iterable<Pair<File, HashCode>>,
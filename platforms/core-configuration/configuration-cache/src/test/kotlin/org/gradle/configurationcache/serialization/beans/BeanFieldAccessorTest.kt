@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configurationcache.serialization.beans
+
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.nullValue
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.Test
+
+
+class BeanFieldAccessorTest {
+
+    @Test
+    fun `gets and sets object and primitive fields`() {
+        val bean = Bean()
+        val name = beanFieldAccessorFor(accessibleField("name"))
+        val count = beanFieldAccessorFor(accessibleField("count"))
+
+        name.set(bean, "bean")
+        count.set(bean, 42)
+
+        assertThat(name.get(bean), equalTo<Any>("bean"))
+        assertThat(count.get(bean), equalTo<Any>(42))
+
+        name.set(bean, null)
+        assertThat(name.get(bean), nullValue())
+    }
+
+    @Test
+    fun `sets final fields`() {
+        val bean = Bean()
+        val id = beanFieldAccessorFor(accessibleField("id"))
+
+        id.set(bean, "other")
+
+        assertThat(id.get(bean), equalTo<Any>("other"))
+    }
+
+    @Test
+    fun `method handle and reflective accessors agree`() {
+        val bean = Bean()
+        val field = accessibleField("count")
+        methodHandleAccessorFor(field)!!.set(bean, 1)
+
+        assertThat(reflectiveAccessorFor(field).get(bean), equalTo<Any>(1))
+    }
+
+    private
+    fun accessibleField(name: String) =
+        Bean::class.java.getDeclaredField(name).apply { makeAccessible() }
+
+    @Suppress("unused")
+    private
+    class Bean {
+        private
+        val id: String = "id"
+
+        private
+        var name: String? = null
+
+        private
+        var count: Int = 0
+    }
+}
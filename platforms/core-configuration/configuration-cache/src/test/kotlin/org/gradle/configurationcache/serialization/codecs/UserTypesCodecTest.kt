@@ -89,6 +89,24 @@ class UserTypesCodecTest : AbstractUserTypeCodecTest() {
         }
     }
 
+    @Test
+    fun `can handle beans with primitive, final and null fields`() {
+
+        val bean = BeanWithFields("bean", 42, true, null)
+
+        assertThat(
+            configurationCacheRoundtripOf(bean),
+            equalTo(bean)
+        )
+    }
+
+    data class BeanWithFields(
+        val name: String,
+        var count: Int,
+        private val enabled: Boolean,
+        var description: String?
+    )
+
     @Test
     fun `Peano sanity check`() {
 
@@ -19,6 +19,7 @@
 import org.gradle.internal.service.scopes.ServiceScope;
 
 import java.io.File;
+import java.util.Map;
 
 @ServiceScope(Scopes.BuildSession.class)
 public interface ChecksumService {
@@ -31,4 +32,17 @@ public interface ChecksumService {
     HashCode sha512(File file);
 
     HashCode hash(File src, String algorithm);
+
+    /**
+     * Remembers checksums of a file that were computed while the file was written, so that they don't need to be computed again by reading the file.
+     * The checksums are used for as long as the file keeps the length and last modified time it has when they are recorded.
+     *
+     * @param checksums the checksums by algorithm, using the algorithm names accepted by {@link #hash(File, String)}
+     */
+    void recordChecksums(File file, Map<String, HashCode> checksums);
+
+    /**
+     * Forgets the checksums recorded for a file, for example because the file is about to be moved or deleted.
+     */
+    void discardRecordedChecksums(File file);
 }
@@ -17,7 +17,7 @@
 package org.gradle.internal.resources;
 
 public class LeaseHolder {
-    private final int maxWorkerCount;
+    private int maxWorkerCount;
     private int leasesInUse;
 
     public LeaseHolder(int maxWorkerCount) {
@@ -35,4 +35,19 @@ public boolean grantLease() {
     public void releaseLease() {
         leasesInUse--;
     }
+
+    /**
+     * Changes the number of leases that can be granted. Leases that have already been granted are not revoked when the count is reduced.
+     */
+    public void setMaxWorkerCount(int maxWorkerCount) {
+        this.maxWorkerCount = maxWorkerCount;
+    }
+
+    public int getMaxWorkerCount() {
+        return maxWorkerCount;
+    }
+
+    public int getLeasesInUse() {
+        return leasesInUse;
+    }
 }
@@ -96,6 +96,49 @@ public int getMaxWorkerCount() {
         return maxWorkerCount;
     }
 
+    /**
+     * Returns the number of worker leases that can currently be granted concurrently. This is at most {@link #getMaxWorkerCount()}.
+     */
+    public int getWorkerLeaseLimit() {
+        return coordinationService.withStateLock(new Supplier<Integer>() {
+            @Override
+            public Integer get() {
+                return workerLeaseLockRegistry.root.getMaxWorkerCount();
+            }
+        });
+    }
+
+    /**
+     * Returns the number of worker leases currently granted.
+     */
+    public int getWorkerLeasesInUse() {
+        return coordinationService.withStateLock(new Supplier<Integer>() {
+            @Override
+            public Integer get() {
+                return workerLeaseLockRegistry.root.getLeasesInUse();
+            }
+        });
+    }
+
+    /**
+     * Limits the number of worker leases that can be granted concurrently. The limit is clamped to between 1 and {@link #getMaxWorkerCount()}.
+     * Leases that have already been granted are not revoked when the limit is lowered, instead no further leases are granted until enough leases have been released.
+     *
+     * @return the limit now in effect.
+     */
+    public int setWorkerLeaseLimit(int limit) {
+        final int effectiveLimit = Math.max(1, Math.min(limit, maxWorkerCount));
+        coordinationService.withStateLock(new Runnable() {
+            @Override
+            public void run() {
+                workerLeaseLockRegistry.root.setMaxWorkerCount(effectiveLimit);
+                // Wake up any threads waiting for a lease, in case the limit was raised
+                coordinationService.notifyStateChange();
+            }
+        });
+        return effectiveLimit;
+    }
+
     @Override
     public WorkerLease getCurrentWorkerLease() {
         List<? extends WorkerLease> operations = workerLeaseLockRegistry.getResourceLocksByCurrentThread();
@@ -73,6 +73,109 @@ class DefaultWorkerLeaseServiceWorkerLeaseTest extends AbstractWorkerLeaseServic
         registry?.stop()
     }
 
+    def "worker start blocks when the worker lease limit has been lowered"() {
+        def registry = workerLeaseService(2)
+
+        when:
+        def limit = registry.setWorkerLeaseLimit(1)
+
+        then:
+        limit == 1
+        registry.workerLeaseLimit == 1
+        registry.maxWorkerCount == 2
+
+        when:
+        async {
+            start {
+                def cl = registry.startWorker()
+                instant.worker1
+                thread.block()
+                instant.worker1Finished
+                cl.leaseFinish()
+            }
+            start {
+                thread.blockUntil.worker1
+                def cl = registry.startWorker()
+                instant.worker2
+                cl.leaseFinish()
+            }
+        }
+
+        then:
+        instant.worker2 > instant.worker1Finished
+
+        cleanup:
+        registry?.stop()
+    }
+
+    def "worker start proceeds when the worker lease limit is raised"() {
+        def registry = workerLeaseService(2)
+        registry.setWorkerLeaseLimit(1)
+
+        when:
+        async {
+            start {
+                def cl = registry.startWorker()
+                instant.worker1
+                thread.blockUntil.worker2
+                cl.leaseFinish()
+            }
+            start {
+                thread.blockUntil.worker1
+                thread.block()
+                instant.raised
+                registry.setWorkerLeaseLimit(2)
+            }
+            start {
+                thread.blockUntil.worker1
+                def cl = registry.startWorker()
+                instant.worker2
+                cl.leaseFinish()
+            }
+        }
+
+        then:
+        instant.worker2 > instant.raised
+
+        cleanup:
+        registry?.stop()
+    }
+
+    def "worker lease limit is clamped to the max worker count"() {
+        def registry = workerLeaseService(4)
+
+        expect:
+        registry.workerLeaseLimit == 4
+        registry.setWorkerLeaseLimit(0) == 1
+        registry.setWorkerLeaseLimit(10) == 4
+        registry.workerLeaseLimit == 4
+
+        cleanup:
+        registry?.stop()
+    }
+
+    def "reports the number of worker leases in use"() {
+        def registry = workerLeaseService(4)
+
+        expect:
+        registry.workerLeasesInUse == 0
+
+        when:
+        def worker = registry.startWorker()
+
+        then:
+        registry.workerLeasesInUse == 1
+
+        when:
+        worker.leaseFinish()
+
+        then:
+        registry.workerLeasesInUse == 0
+
+        cleanup:
+        registry?.stop()
+    }
+
     def "can run as worker thread"() {
         def registry = workerLeaseService(1)
 
@@ -1,11 +1,19 @@
 plugins {
     id("gradlebuild.distribution.api-java")
+    id("gradlebuild.jmh")
 }
 
 description = "Implementation of messaging between Gradle processes"
 
 gradlebuildJava.usedInWorkers()
 
+/**
+ * Use Java 8 compatibility for JMH benchmarks
+ */
+tasks.named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.release = 8
+}
+
 dependencies {
     implementation(project(":base-services"))
 
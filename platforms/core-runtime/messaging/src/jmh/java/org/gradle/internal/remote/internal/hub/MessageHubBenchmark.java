@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.remote.internal.hub;
+
+import org.gradle.api.Action;
+import org.gradle.internal.concurrent.DefaultExecutorFactory;
+import org.gradle.internal.dispatch.Dispatch;
+import org.gradle.internal.remote.internal.KryoBackedMessageSerializer;
+import org.gradle.internal.remote.internal.hub.protocol.InterHubMessage;
+import org.gradle.internal.remote.internal.inet.SocketConnection;
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+import org.gradle.internal.serialize.ObjectReader;
+import org.gradle.internal.serialize.ObjectWriter;
+import org.gradle.internal.serialize.StatefulSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Measures the throughput of a {@link MessageHub} connected over loopback, when streaming many small messages
+ * in the way that a test worker streams test output events back to the build process.
+ */
+@Fork(1)
+@Threads(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class MessageHubBenchmark {
+    private static final int EVENTS_PER_INVOCATION = 10000;
+    private static final String CHANNEL = "output";
+    private static final StatefulSerializer<Object> PAYLOAD_SERIALIZER = new StatefulSerializer<Object>() {
+        @Override
+        public ObjectReader<Object> newReader(final Decoder decoder) {
+            return new ObjectReader<Object>() {
+                @Override
+                public Object read() throws Exception {
+                    return decoder.readString();
+                }
+            };
+        }
+
+        @Override
+        public ObjectWriter<Object> newWriter(final Encoder encoder) {
+            return new ObjectWriter<Object>() {
+                @Override
+                public void write(Object value) throws Exception {
+                    encoder.writeString((String) value);
+                }
+            };
+        }
+    };
+    private static final Action<Throwable> RETHROW = new Action<Throwable>() {
+        @Override
+        public void execute(Throwable throwable) {
+            throw new RuntimeException(throwable);
+        }
+    };
+
+    private final String[] events = new String[EVENTS_PER_INVOCATION];
+    private DefaultExecutorFactory executorFactory;
+    private MessageHub sender;
+    private MessageHub receiver;
+    private SocketConnection<InterHubMessage> senderConnection;
+    private SocketConnection<InterHubMessage> receiverConnection;
+    private Dispatch<Object> outgoing;
+    private final CountingHandler handler = new CountingHandler();
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        for (int i = 0; i < events.length; i++) {
+            events[i] = "Test output line " + i + " written by some test method to System.out";
+        }
+
+        ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        SocketChannel senderChannel = SocketChannel.open(serverChannel.getLocalAddress());
+        SocketChannel receiverChannel = serverChannel.accept();
+        serverChannel.close();
+
+        InterHubMessageSerializer serializer = new InterHubMessageSerializer(PAYLOAD_SERIALIZER);
+        senderConnection = new SocketConnection<InterHubMessage>(senderChannel, new KryoBackedMessageSerializer(), serializer);
+        receiverConnection = new SocketConnection<InterHubMessage>(receiverChannel, new KryoBackedMessageSerializer(), serializer);
+
+        executorFactory = new DefaultExecutorFactory();
+        sender = new MessageHub("sender", executorFactory, RETHROW);
+        receiver = new MessageHub("receiver", executorFactory, RETHROW);
+        receiver.addHandler(CHANNEL, handler);
+        sender.addConnection(senderConnection);
+        receiver.addConnection(receiverConnection);
+        outgoing = sender.getOutgoing(CHANNEL, Object.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sender.stop();
+        senderConnection.stop();
+        receiver.stop();
+        receiverConnection.stop();
+        executorFactory.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_INVOCATION)
+    public void streamOutputEvents() throws InterruptedException {
+        long expected = handler.getReceived() + events.length;
+        for (String event : events) {
+            outgoing.dispatch(event);
+        }
+        handler.waitFor(expected);
+    }
+
+    private static class CountingHandler implements Dispatch<Object> {
+        private long received;
+
+        @Override
+        public synchronized void dispatch(Object message) {
+            received++;
+            notifyAll();
+        }
+
+        synchronized long getReceived() {
+            return received;
+        }
+
+        synchronized void waitFor(long count) throws InterruptedException {
+            while (received < count) {
+                wait();
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.remote.internal.inet;
+
+import org.gradle.internal.remote.internal.KryoBackedMessageSerializer;
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+import org.gradle.internal.serialize.ObjectReader;
+import org.gradle.internal.serialize.ObjectWriter;
+import org.gradle.internal.serialize.StatefulSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures round-trip latency and throughput of {@link SocketConnection} over a loopback connection.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Threads(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class SocketConnectionBenchmark {
+    private static final StatefulSerializer<byte[]> SERIALIZER = new StatefulSerializer<byte[]>() {
+        @Override
+        public ObjectReader<byte[]> newReader(final Decoder decoder) {
+            return new ObjectReader<byte[]>() {
+                @Override
+                public byte[] read() throws Exception {
+                    return decoder.readBinary();
+                }
+            };
+        }
+
+        @Override
+        public ObjectWriter<byte[]> newWriter(final Encoder encoder) {
+            return new ObjectWriter<byte[]>() {
+                @Override
+                public void write(byte[] value) throws Exception {
+                    encoder.writeBinary(value);
+                }
+            };
+        }
+    };
+
+    @Param({"64", "4096", "1048576"})
+    int messageSize;
+
+    private byte[] message;
+    private SocketConnection<byte[]> client;
+    private SocketConnection<byte[]> server;
+    private Thread echo;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        message = new byte[messageSize];
+        new Random(42).nextBytes(message);
+
+        ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        SocketChannel clientChannel = SocketChannel.open(serverChannel.getLocalAddress());
+        SocketChannel serverSide = serverChannel.accept();
+        serverChannel.close();
+
+        client = new SocketConnection<byte[]>(clientChannel, new KryoBackedMessageSerializer(), SERIALIZER);
+        server = new SocketConnection<byte[]>(serverSide, new KryoBackedMessageSerializer(), SERIALIZER);
+        echo = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                byte[] received;
+                while ((received = server.receive()) != null) {
+                    server.dispatch(received);
+                    server.flush();
+                }
+            }
+        }, "echo");
+        echo.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        client.stop();
+        echo.join();
+        server.stop();
+    }
+
+    @Benchmark
+    public byte[] roundTrip() {
+        client.dispatch(message);
+        client.flush();
+        return client.receive();
+    }
+}
@@ -31,6 +31,7 @@
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -47,6 +48,15 @@ public class MessageHub implements AsyncStoppable {
     private enum State {Running, Stopping, Stopped}
 
     private static final Discard DISCARD = new Discard();
+    /**
+     * How long to wait for further messages before flushing a batch, when messages are being dispatched faster than they are written.
+     */
+    private static final long BATCH_LINGER_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    /**
+     * Maximum time that a message can be held in a batch waiting for further messages.
+     */
+    private static final long MAX_BATCH_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int MAX_BATCH_SIZE = 1024;
     private final ManagedExecutor workers;
     private final String displayName;
     private final Action<? super Throwable> errorHandler;
@@ -323,19 +333,35 @@ public void run() {
                         } finally {
                             lock.unlock();
                         }
-                        for (InterHubMessage message : messages) {
-                            try {
-                                connection.dispatch(message);
-                            } catch (RecoverableMessageIOException e) {
-                                addToIncoming(new StreamFailureMessage(e));
-                            }
-                            if (message instanceof EndOfStream) {
+                        long batchStart = System.nanoTime();
+                        int batchSize = 0;
+                        while (true) {
+                            // A single queued message is flushed immediately, so that request-response style traffic is not delayed.
+                            // When several messages have queued up, the producer is outpacing the connection, so keep collecting
+                            // messages into the current batch for a short while rather than flushing after each handful.
+                            // Control messages are never held back: writing one flushes the current batch straight away.
+                            boolean streaming = messages.size() > 1;
+                            Batch batch = dispatchAll(messages);
+                            if (batch == Batch.END_OF_STREAM) {
                                 connection.flush();
                                 return;
                             }
+                            batchSize += messages.size();
+                            messages.clear();
+                            if (batch == Batch.FLUSH || !streaming || batchSize >= MAX_BATCH_SIZE || System.nanoTime() - batchStart >= MAX_BATCH_DELAY_NANOS) {
+                                break;
+                            }
+                            lock.lock();
+                            try {
+                                queue.poll(messages, BATCH_LINGER_NANOS);
+                            } finally {
+                                lock.unlock();
+                            }
+                            if (messages.isEmpty()) {
+                                break;
+                            }
                         }
                         connection.flush();
-                        messages.clear();
                     }
                 } finally {
                     lock.lock();
@@ -349,6 +375,42 @@ public void run() {
                 errorHandler.execute(t);
             }
         }
+
+        /**
+         * Writes the given messages to the connection, without flushing. Returns whether the current batch can collect further messages.
+         */
+        private Batch dispatchAll(List<InterHubMessage> messages) {
+            Batch batch = Batch.CONTINUE;
+            for (InterHubMessage message : messages) {
+                try {
+                    connection.dispatch(message);
+                } catch (RecoverableMessageIOException e) {
+                    addToIncoming(new StreamFailureMessage(e));
+                }
+                if (message instanceof EndOfStream) {
+                    return Batch.END_OF_STREAM;
+                }
+                if (!(message instanceof ChannelMessage)) {
+                    batch = Batch.FLUSH;
+                }
+            }
+            return batch;
+        }
+    }
+
+    private enum Batch {
+        /**
+         * Only channel messages have been written, so the batch can collect further messages before it is flushed.
+         */
+        CONTINUE,
+        /**
+         * A control message has been written, so the batch must be flushed right away.
+         */
+        FLUSH,
+        /**
+         * The end of stream has been written, so the batch must be flushed and no further messages written.
+         */
+        END_OF_STREAM
     }
 
     private class ChannelDispatch<T> implements Dispatch<T> {
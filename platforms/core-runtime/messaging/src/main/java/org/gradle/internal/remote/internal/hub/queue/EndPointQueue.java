@@ -56,6 +56,30 @@ public void take(Collection<InterHubMessage> drainTo) {
         queue.clear();
     }
 
+    /**
+     * Takes any queued messages, waiting at most the given time for messages to become available.
+     * Does not wait when messages are already queued. Adds nothing to the given collection on timeout, and stops waiting for messages,
+     * so that messages for a single handler are not routed to this endpoint while it is not ready to take them.
+     */
+    public void poll(Collection<InterHubMessage> drainTo, long timeoutNanos) {
+        if (queue.isEmpty()) {
+            owner.empty(this);
+            long remaining = timeoutNanos;
+            while (queue.isEmpty() && remaining > 0) {
+                try {
+                    remaining = condition.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    throw UncheckedException.throwAsUncheckedException(e);
+                }
+            }
+            if (queue.isEmpty()) {
+                owner.notWaiting(this);
+            }
+        }
+        drainTo.addAll(queue);
+        queue.clear();
+    }
+
     public void stop() {
         owner.stopped(this);
     }
@@ -49,10 +49,16 @@ public void dispatch(InterHubMessage message) {
     }
 
     void empty(EndPointQueue endPointQueue) {
-        waiting.add(endPointQueue);
+        if (!waiting.contains(endPointQueue)) {
+            waiting.add(endPointQueue);
+        }
         flush();
     }
 
+    void notWaiting(EndPointQueue endPointQueue) {
+        waiting.remove(endPointQueue);
+    }
+
     void stopped(EndPointQueue queue) {
         waiting.remove(queue);
         endpoints.remove(queue);
@@ -56,6 +56,9 @@ public SocketConnection(SocketChannel socket, MessageSerializer streamSerializer
             // NOTE: we use non-blocking IO as there is no reliable way when using blocking IO to shutdown reads while
             // keeping writes active. For example, Socket.shutdownInput() does not work on Windows.
             socket.configureBlocking(false);
+            // Output is explicitly flushed once a message has been written, so there is no need for the socket to additionally
+            // hold back small writes. Nagle's algorithm combined with delayed ACKs adds latency to small messages, even over loopback
+            socket.socket().setTcpNoDelay(true);
             outstr = new SocketOutputStream(socket);
             instr = new SocketInputStream(socket);
         } catch (IOException e) {
@@ -16,6 +16,7 @@
 
 package org.gradle.internal.serialize.kryo;
 
+import com.esotericsoftware.kryo.KryoException;
 import com.esotericsoftware.kryo.io.Output;
 import org.gradle.internal.serialize.AbstractEncoder;
 import org.gradle.internal.serialize.Encoder;
@@ -35,7 +36,7 @@ public KryoBackedEncoder(OutputStream outputStream) {
     }
 
     public KryoBackedEncoder(OutputStream outputStream, int bufferSize) {
-        output = new Output(outputStream, bufferSize);
+        output = new WriteThroughOutput(outputStream, bufferSize);
     }
 
     @Override
@@ -131,4 +132,33 @@ public void flush() {
     public void close() {
         output.close();
     }
+
+    /**
+     * An {@link Output} that hands byte arrays spanning several buffers directly to the target stream, rather than copying them through its buffer in buffer-sized pieces.
+     * The target stream may still copy the bytes, for instance a socket stream copies them through its own direct buffer.
+     */
+    private static class WriteThroughOutput extends Output {
+        WriteThroughOutput(OutputStream outputStream, int bufferSize) {
+            super(outputStream, bufferSize);
+        }
+
+        @Override
+        public void writeBytes(byte[] bytes, int offset, int count) throws KryoException {
+            if (count < 2 * capacity || outputStream == null) {
+                super.writeBytes(bytes, offset, count);
+                return;
+            }
+            try {
+                if (position > 0) {
+                    outputStream.write(buffer, 0, position);
+                    total += position;
+                    position = 0;
+                }
+                outputStream.write(bytes, offset, count);
+                total += count;
+            } catch (IOException e) {
+                throw new KryoException(e);
+            }
+        }
+    }
 }
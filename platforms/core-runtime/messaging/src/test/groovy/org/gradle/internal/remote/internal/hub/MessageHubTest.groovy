@@ -196,6 +196,78 @@ class MessageHubTest extends ConcurrentSpec {
         connection.stop()
     }
 
+    def "outgoing messages queued together are flushed to connection as a single batch"() {
+        def flushed = new CopyOnWriteArrayList()
+        def messages = new CopyOnWriteArrayList()
+        RemoteConnection<InterHubMessage> outgoing = Mock()
+        def connection = new MockOutgoingConnection(outgoing)
+
+        given:
+        outgoing.dispatch({ it instanceof ChannelMessage }) >> { ChannelMessage message ->
+            messages.add(message.payload)
+        }
+        outgoing.flush() >> {
+            flushed.add(messages.size())
+            if (flushed.size() == 1) {
+                instant.flushed
+            }
+        }
+
+        and:
+        def dispatcher = hub.getOutgoing("channel", Long)
+        20.times { dispatcher.dispatch(it) }
+
+        when:
+        hub.addConnection(connection)
+        thread.blockUntil.flushed
+
+        then:
+        messages == 0..19
+        flushed[0] == 20
+
+        cleanup:
+        connection.stop()
+    }
+
+    def "outgoing messages produced while the batch is written are flushed to connection as a single batch"() {
+        def flushed = new CopyOnWriteArrayList()
+        def messages = new CopyOnWriteArrayList()
+        RemoteConnection<InterHubMessage> outgoing = Mock()
+        def connection = new MockOutgoingConnection(outgoing)
+        def dispatcher = hub.getOutgoing("channel", Long)
+
+        given:
+        // The producer is paced by the connection: each message is produced once the message before the previous one has been written,
+        // so at most two messages are queued at any time, and the batch only keeps growing by waiting for further messages
+        outgoing.dispatch({ it instanceof ChannelMessage }) >> { ChannelMessage message ->
+            messages.add(message.payload)
+            if (message.payload + 2 < 20) {
+                dispatcher.dispatch(message.payload + 2)
+            }
+        }
+        outgoing.flush() >> {
+            flushed.add(messages.size())
+            if (flushed.size() == 1) {
+                instant.flushed
+            }
+        }
+
+        and:
+        dispatcher.dispatch(0)
+        dispatcher.dispatch(1)
+
+        when:
+        hub.addConnection(connection)
+        thread.blockUntil.flushed
+
+        then:
+        messages == 0..19
+        flushed[0] == 20
+
+        cleanup:
+        connection.stop()
+    }
+
     def "each outgoing message is dispatched to exactly one connection"() {
         def messages = new CopyOnWriteArrayList()
         RemoteConnection<InterHubMessage> outgoing = Mock()
@@ -162,4 +162,64 @@ class MultiEndPointQueueTest extends AbstractQueueTest {
         messages.size() == 1
         messages[0] instanceof EndOfStream
     }
+
+    def "poll forwards queued unicast messages to endpoint"() {
+        given:
+        def message1 = unicast()
+        def message2 = unicast()
+        def endpoint = queue.newEndpoint()
+
+        and:
+        queue.dispatch(message1)
+        queue.dispatch(message2)
+
+        when:
+        def messages = []
+        endpoint.poll(messages, 0)
+
+        then:
+        messages == [message1, message2]
+    }
+
+    def "poll returns nothing when no messages are queued"() {
+        given:
+        def endpoint = queue.newEndpoint()
+
+        when:
+        def messages = []
+        endpoint.poll(messages, 0)
+
+        then:
+        messages.empty
+    }
+
+    def "endpoint that polled without receiving messages continues to receive unicast messages"() {
+        given:
+        def message = unicast()
+        def endpoint = queue.newEndpoint()
+        endpoint.poll([], 0)
+
+        when:
+        queue.dispatch(message)
+        def messages = []
+        endpoint.take(messages)
+
+        then:
+        messages == [message]
+    }
+
+    def "endpoint that polled without receiving messages is not forwarded unicast messages until it waits again"() {
+        given:
+        def message = unicast()
+        def endpoint = queue.newEndpoint()
+        endpoint.poll([], 0)
+
+        when:
+        queue.dispatch(message)
+        def queued = []
+        queue.drain(queued)
+
+        then:
+        queued == [message]
+    }
 }
@@ -223,6 +223,33 @@ class TcpConnectorTest extends ConcurrentSpec {
         acceptor?.stop()
     }
 
+    def "can send messages larger than the socket buffers"() {
+        given:
+        def bytesSerializer = Serializers.stateful(BaseSerializerFactory.BYTE_ARRAY_SERIALIZER)
+        def payload = new byte[1024 * 1024]
+        new Random(12).nextBytes(payload)
+        def action = { ConnectCompletion completion ->
+            def conn = completion.create(bytesSerializer)
+            conn.dispatch(payload)
+            conn.dispatch([1, 2, 3] as byte[])
+            conn.stop()
+        } as Action
+
+        when:
+        def acceptor = incomingConnector.accept(action, false)
+        def connection = outgoingConnector.connect(acceptor.address).create(bytesSerializer)
+        def large = connection.receive()
+        def small = connection.receive()
+
+        then:
+        large == payload
+        small == [1, 2, 3] as byte[]
+
+        cleanup:
+        connection?.stop()
+        acceptor?.stop()
+    }
+
     def "returns null on failure to receive due to truncated input"() {
         given:
         def incomingSerializer = { Encoder encoder, String value ->
@@ -189,4 +189,38 @@ class KryoBackedCodecTest extends AbstractCodecTest {
         instr.available() == 0
         decoder.readPosition == 4108
     }
+
+    def "writes byte arrays spanning several buffers directly to the target stream"() {
+        def outstr = new ByteArrayOutputStream()
+        def encoder = new KryoBackedEncoder(outstr, 10)
+        def bytes = (0..<25).collect { it as byte } as byte[]
+
+        when:
+        encoder.writeSmallInt(12)
+        encoder.writeBytes(bytes)
+
+        then:
+        encoder.writePosition == 26
+        outstr.size() == 26
+
+        when:
+        encoder.writeBytes(bytes, 0, 19)
+
+        then:
+        encoder.writePosition == 45
+        outstr.size() == 36
+
+        when:
+        encoder.close()
+        def decoder = new KryoBackedDecoder(new ByteArrayInputStream(outstr.toByteArray()), 10)
+        def first = new byte[25]
+        def second = new byte[19]
+        decoder.readSmallInt()
+        decoder.readBytes(first)
+        decoder.readBytes(second)
+
+        then:
+        first == bytes
+        second == bytes[0..<19] as byte[]
+    }
 }
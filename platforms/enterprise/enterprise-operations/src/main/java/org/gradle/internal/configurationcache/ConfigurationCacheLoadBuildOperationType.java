@@ -29,6 +29,20 @@ public interface Details {
     }
 
     public interface Result {
+        /**
+         * The number of bytes of configuration cache state read from disk by the operation.
+         *
+         * @since 8.6
+         */
+        long getStateSize();
+
+        /**
+         * The number of bytes of configuration cache state read by the operation, once decompressed.
+         * Same as {@link #getStateSize()} when the state is not compressed.
+         *
+         * @since 8.6
+         */
+        long getUncompressedStateSize();
     }
 
 }
@@ -29,6 +29,20 @@ public interface Details {
     }
 
     public interface Result {
+        /**
+         * The number of bytes of configuration cache state written to disk by the operation.
+         *
+         * @since 8.6
+         */
+        long getStateSize();
+
+        /**
+         * The number of bytes of configuration cache state written to disk by the operation, before compression.
+         * Same as {@link #getStateSize()} when the state is not compressed.
+         *
+         * @since 8.6
+         */
+        long getUncompressedStateSize();
     }
 
 }
@@ -1180,6 +1180,54 @@ class ArtifactTransformInputArtifactIntegrationTest extends AbstractDependencyRe
         sensitivity << [PathSensitivity.RELATIVE, PathSensitivity.NAME_ONLY]
     }
 
+    def "loads cacheable transform of external artifact from the build cache in another Gradle user home"() {
+        requireOwnGradleUserHomeDir()
+        setupBuildWithColorTransform()
+        def lib = withColorVariants(mavenRepo.module("group1", "lib", "1.0")).publish()
+        lib.artifactFile.text = "lib"
+
+        buildFile << """
+            repositories {
+                maven {
+                    url = '${mavenRepo.uri}'
+                    metadataSources { gradleMetadata() }
+                }
+            }
+            dependencies {
+                implementation 'group1:lib:1.0'
+            }
+
+            @CacheableTransform
+            abstract class MakeGreen implements TransformAction<TransformParameters.None> {
+                @PathSensitive(PathSensitivity.NONE)
+                @InputArtifact
+                abstract Provider<FileSystemLocation> getInputArtifact()
+
+                void transform(TransformOutputs outputs) {
+                    def input = inputArtifact.get().asFile
+                    println "processing \${input.name}"
+                    def output = outputs.file(input.name + ".green")
+                    output.text = input.text + ".green"
+                }
+            }
+        """
+
+        when:
+        withBuildCache().succeeds(":resolve")
+
+        then:
+        transformed("lib-1.0.jar")
+        outputContains("result = [lib-1.0.jar.green]")
+
+        when: // like on a new machine, without the downloaded artifact nor the transforms cache
+        executer.withGradleUserHomeDir(file("other-user-home"))
+        withBuildCache().succeeds(":resolve")
+
+        then:
+        transformed()
+        outputContains("result = [lib-1.0.jar.green]")
+    }
+
     def "honors content changes with @#annotation on input artifact property with incremental artifact transforms file when not caching"() {
         createDirs("a", "b", "c")
         settingsFile << "include 'a', 'b', 'c'"
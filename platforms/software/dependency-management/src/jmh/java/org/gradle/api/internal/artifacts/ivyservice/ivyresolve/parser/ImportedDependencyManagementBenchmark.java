@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser;
+
+import org.apache.commons.io.FileUtils;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.internal.artifacts.DefaultImmutableModuleIdentifierFactory;
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier;
+import org.gradle.api.internal.artifacts.ImmutableModuleIdentifierFactory;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.data.MavenDependencyKey;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.data.PomDependencyMgt;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionSelector;
+import org.gradle.api.internal.component.ArtifactType;
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier;
+import org.gradle.internal.component.external.model.ModuleDependencyMetadata;
+import org.gradle.internal.nativeintegration.filesystem.FileSystem;
+import org.gradle.internal.nativeintegration.services.FileSystems;
+import org.gradle.internal.nativeintegration.services.NativeServices;
+import org.gradle.internal.resource.local.LocalFileStandInExternalResource;
+import org.gradle.internal.resource.local.LocallyAvailableExternalResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.xml.sax.SAXException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+/**
+ * Measures the import of a BOM hierarchy by the POMs of many modules, as during the first resolution of a build
+ * that depends on a large platform.
+ *
+ * <p>Every module imports the same BOM, which inherits its versions from a parent POM. The BOM is imported the way
+ * {@link GradlePomModuleDescriptorParser} does: through an {@link ImportedDependencyManagementCache}, resolving and
+ * parsing the parent of the BOM with the recording parse context.</p>
+ * <ul>
+ *     <li>With {@code sharedCache}, one cache is used for all the modules, as for a build tree.</li>
+ *     <li>Without it, each module gets its own cache, so the BOM and its parent are parsed again for each of them.</li>
+ * </ul>
+ * The allocation rate of each variant can be observed with {@code -prof gc}.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ImportedDependencyManagementBenchmark {
+    private static final String GROUP = "org.platform";
+    private static final ModuleComponentIdentifier PARENT_ID = DefaultModuleComponentIdentifier.newId(DefaultModuleIdentifier.newId(GROUP, "platform-parent"), "1.0");
+
+    @Param({"50"})
+    int modules;
+
+    @Param({"100", "1000"})
+    int managedDependencies;
+
+    @Param({"true", "false"})
+    boolean sharedCache;
+
+    private final ImmutableModuleIdentifierFactory moduleIdentifierFactory = new DefaultImmutableModuleIdentifierFactory();
+    private File repository;
+    private LocallyAvailableExternalResource bom;
+    private LocallyAvailableExternalResource bomParent;
+    private DescriptorParseContext parseContext;
+
+    @Setup(Level.Trial)
+    public void writeBomHierarchy() throws IOException {
+        repository = Files.createTempDirectory("bom-hierarchy").toFile();
+        NativeServices.initializeOnDaemon(repository);
+        FileSystem fileSystem = FileSystems.getDefault();
+        bomParent = new LocalFileStandInExternalResource(write("platform-parent.pom", parentPom()), fileSystem);
+        bom = new LocalFileStandInExternalResource(write("platform-bom.pom", bomPom()), fileSystem);
+        parseContext = new DescriptorParseContext() {
+            @Override
+            public LocallyAvailableExternalResource getMetaDataArtifact(ModuleComponentIdentifier componentIdentifier, ArtifactType artifactType) {
+                return bomParent;
+            }
+
+            @Override
+            public LocallyAvailableExternalResource getMetaDataArtifact(ModuleDependencyMetadata dependencyMetadata, VersionSelector acceptor, ArtifactType artifactType) {
+                return bomParent;
+            }
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteBomHierarchy() throws IOException {
+        FileUtils.forceDelete(repository);
+    }
+
+    @Benchmark
+    public void importBomInEveryModule(Blackhole blackhole) throws Exception {
+        ImportedDependencyManagementCache cache = new ImportedDependencyManagementCache();
+        for (int i = 0; i < modules; i++) {
+            if (!sharedCache) {
+                cache = new ImportedDependencyManagementCache();
+            }
+            blackhole.consume(cache.getOrParse(bom, parseContext, this::parseBom));
+        }
+    }
+
+    private Map<MavenDependencyKey, PomDependencyMgt> parseBom(DescriptorParseContext context) throws IOException, SAXException {
+        PomReader bomReader = new PomReader(bom, moduleIdentifierFactory);
+        LocallyAvailableExternalResource parent = context.getMetaDataArtifact(PARENT_ID, ArtifactType.MAVEN_POM);
+        bomReader.setPomParent(new PomReader(parent, moduleIdentifierFactory, bomReader.getAllPomProperties()));
+        bomReader.resolveGAV();
+        return bomReader.getDependencyMgt();
+    }
+
+    private File write(String name, String content) throws IOException {
+        File file = new File(repository, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private String parentPom() {
+        StringBuilder pom = new StringBuilder();
+        pom.append("<project>\n")
+            .append("  <modelVersion>4.0.0</modelVersion>\n")
+            .append("  <groupId>").append(GROUP).append("</groupId>\n")
+            .append("  <artifactId>platform-parent</artifactId>\n")
+            .append("  <version>1.0</version>\n")
+            .append("  <packaging>pom</packaging>\n")
+            .append("  <properties>\n");
+        for (int i = 0; i < managedDependencies; i++) {
+            pom.append("    <library-").append(i).append(".version>").append(i % 7).append('.').append(i % 13).append(".0</library-").append(i).append(".version>\n");
+        }
+        return pom.append("  </properties>\n")
+            .append("</project>\n")
+            .toString();
+    }
+
+    private String bomPom() {
+        StringBuilder pom = new StringBuilder();
+        pom.append("<project>\n")
+            .append("  <modelVersion>4.0.0</modelVersion>\n")
+            .append("  <parent>\n")
+            .append("    <groupId>").append(GROUP).append("</groupId>\n")
+            .append("    <artifactId>platform-parent</artifactId>\n")
+            .append("    <version>1.0</version>\n")
+            .append("  </parent>\n")
+            .append("  <artifactId>platform-bom</artifactId>\n")
+            .append("  <packaging>pom</packaging>\n")
+            .append("  <dependencyManagement>\n")
+            .append("    <dependencies>\n");
+        for (int i = 0; i < managedDependencies; i++) {
+            pom.append("      <dependency>\n")
+                .append("        <groupId>org.library").append(i % 40).append("</groupId>\n")
+                .append("        <artifactId>library-").append(i).append("</artifactId>\n")
+                .append("        <version>${library-").append(i).append(".version}</version>\n")
+                .append("      </dependency>\n");
+        }
+        return pom.append("    </dependencies>\n")
+            .append("  </dependencyManagement>\n")
+            .append("</project>\n")
+            .toString();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.modulecache;
+
+import com.google.common.collect.ImmutableList;
+import org.gradle.api.artifacts.component.ModuleComponentSelector;
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier;
+import org.gradle.internal.component.external.descriptor.DefaultExclude;
+import org.gradle.internal.component.external.descriptor.MavenScope;
+import org.gradle.internal.component.external.model.DefaultModuleComponentSelector;
+import org.gradle.internal.component.external.model.maven.MavenDependencyDescriptor;
+import org.gradle.internal.component.external.model.maven.MavenDependencyType;
+import org.gradle.internal.component.model.ExcludeMetadata;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Measures the heap retained by the dependency declarations of cached module metadata, with and without interning.
+ *
+ * Each iteration decodes the dependencies of a large number of components the way {@link ModuleMetadataSerializer} does,
+ * and keeps them, like the in-memory metadata caches do. Every iteration is a single invocation, so the
+ * {@link RetainedInstances} counters report the number of distinct objects retained by one decoding pass.
+ * The allocation rate can be observed with {@code -prof gc}.
+ */
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ModuleMetadataInterningBenchmark {
+    private static final int COMPONENTS = 20000;
+    private static final int LIBRARIES = 400;
+    private static final int DEPENDENCIES_PER_COMPONENT = 12;
+
+    private static final String[] GROUPS = new String[40];
+    private static final String[] NAMES = new String[LIBRARIES];
+    private static final String[] VERSIONS = {"1.0", "1.1.0", "2.3.1", "2.4", "3.0.0-M1", "4.13.2", "5.9.3"};
+
+    static {
+        for (int i = 0; i < GROUPS.length; i++) {
+            GROUPS[i] = "org.library" + i;
+        }
+        for (int i = 0; i < LIBRARIES; i++) {
+            NAMES[i] = "library-" + i;
+        }
+    }
+
+    @Param({"true", "false"})
+    boolean interning;
+
+    private final List<List<MavenDependencyDescriptor>> retained = new ArrayList<>();
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class RetainedInstances {
+        public long descriptors;
+        public long selectors;
+        public long excludes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            descriptors = 0;
+            selectors = 0;
+            excludes = 0;
+        }
+
+        void count(List<List<MavenDependencyDescriptor>> components) {
+            Set<Object> distinctDescriptors = identitySet();
+            Set<Object> distinctSelectors = identitySet();
+            Set<Object> distinctExcludes = identitySet();
+            for (List<MavenDependencyDescriptor> dependencies : components) {
+                for (MavenDependencyDescriptor dependency : dependencies) {
+                    distinctDescriptors.add(dependency);
+                    distinctSelectors.add(dependency.getSelector());
+                    distinctExcludes.add(dependency.getAllExcludes());
+                }
+            }
+            descriptors = distinctDescriptors.size();
+            selectors = distinctSelectors.size();
+            excludes = distinctExcludes.size();
+        }
+
+        private static Set<Object> identitySet() {
+            return Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+    }
+
+    @Benchmark
+    public List<List<MavenDependencyDescriptor>> decodeAndRetainComponents(RetainedInstances instances) {
+        ModuleMetadataInterner interner = new ModuleMetadataInterner();
+        Random random = new Random(42);
+        retained.clear();
+        for (int component = 0; component < COMPONENTS; component++) {
+            List<MavenDependencyDescriptor> dependencies = new ArrayList<>(DEPENDENCIES_PER_COMPONENT);
+            for (int i = 0; i < DEPENDENCIES_PER_COMPONENT; i++) {
+                // A skewed distribution: a few libraries are depended on by almost every component
+                int library = (int) (LIBRARIES * Math.pow(random.nextDouble(), 3));
+                dependencies.add(decodeDependency(library, interner));
+            }
+            retained.add(dependencies);
+        }
+        instances.count(retained);
+        return retained;
+    }
+
+    private MavenDependencyDescriptor decodeDependency(int library, ModuleMetadataInterner interner) {
+        // Every value is built from fresh instances, as if it was decoded from the metadata store.
+        // Strings are shared, since the metadata store already interns them.
+        ModuleComponentSelector selector = DefaultModuleComponentSelector.newSelector(
+            DefaultModuleIdentifier.newId(GROUPS[library % GROUPS.length], NAMES[library]),
+            VERSIONS[library % VERSIONS.length]
+        );
+        ImmutableList<ExcludeMetadata> excludes = library % 5 == 0
+            ? ImmutableList.of(new DefaultExclude(DefaultModuleIdentifier.newId("commons-logging", "commons-logging")))
+            : ImmutableList.of();
+        if (interning) {
+            selector = interner.intern(selector);
+            excludes = interner.intern(excludes);
+        }
+        MavenDependencyDescriptor dependency = new MavenDependencyDescriptor(MavenScope.Compile, MavenDependencyType.DEPENDENCY, selector, null, excludes);
+        return interning ? interner.intern(dependency) : dependency;
+    }
+}
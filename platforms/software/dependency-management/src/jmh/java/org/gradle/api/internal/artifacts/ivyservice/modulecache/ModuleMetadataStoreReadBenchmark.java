@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.modulecache;
+
+import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Compares the ways of decoding a cached module descriptor file, for descriptors of different sizes.
+ * <ul>
+ *     <li>{@code defaultBuffer} streams the file through the default 4 KiB buffer of the decoder.</li>
+ *     <li>{@code readAllBytes} reads the whole file in memory first, and decodes it from a buffer of the same size.</li>
+ *     <li>{@code fileSizedBuffer} streams the file through a buffer sized to the file, up to a bound, as {@link ModuleMetadataStore} does.</li>
+ * </ul>
+ * The allocation rate of each variant can be observed with {@code -prof gc}.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ModuleMetadataStoreReadBenchmark {
+    private static final String[] VALUES = {"org.library", "library-core", "1.2.3", "compile", "runtime", "org.gradle.usage", "java-api"};
+
+    // Number of values in the descriptor: roughly 2 KiB, 64 KiB and 1 MiB descriptors
+    @Param({"200", "6000", "100000"})
+    int values;
+
+    private File descriptor;
+
+    @Setup(Level.Trial)
+    public void writeDescriptor() throws Exception {
+        descriptor = File.createTempFile("descriptor", ".bin");
+        try (KryoBackedEncoder encoder = new KryoBackedEncoder(new FileOutputStream(descriptor))) {
+            for (int i = 0; i < values; i++) {
+                encoder.writeSmallInt(i);
+                encoder.writeString(VALUES[i % VALUES.length]);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteDescriptor() {
+        descriptor.delete();
+    }
+
+    @Benchmark
+    public int defaultBuffer() throws Exception {
+        return decode(new KryoBackedDecoder(new FileInputStream(descriptor)));
+    }
+
+    @Benchmark
+    public int readAllBytes() throws Exception {
+        byte[] content = Files.readAllBytes(descriptor.toPath());
+        return decode(new KryoBackedDecoder(new ByteArrayInputStream(content), Math.max(content.length, 1)));
+    }
+
+    @Benchmark
+    public int fileSizedBuffer() throws Exception {
+        return decode(ModuleMetadataStore.decoderFor(descriptor));
+    }
+
+    private int decode(KryoBackedDecoder decoder) throws IOException {
+        try {
+            int result = 0;
+            for (int i = 0; i < values; i++) {
+                result += decoder.readSmallInt();
+                result += decoder.readString().length();
+            }
+            return result;
+        } finally {
+            decoder.close();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.excludes;
+
+import org.gradle.api.artifacts.ModuleIdentifier;
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier;
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.excludes.specs.ExcludeSpec;
+import org.gradle.internal.component.external.descriptor.DefaultExclude;
+import org.gradle.internal.component.model.ExcludeMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures merging and evaluation of exclude specs, using the kind of excludes commonly found on
+ * dependencies of large builds and in BOMs: logging bindings, legacy APIs and whole groups.
+ *
+ * Each edge of a synthetic graph path merges the excludes of its dependency with the excludes inherited from its parent.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ModuleExclusionsBenchmark {
+    private static final String[][] COMMON_EXCLUDES = {
+        {"commons-logging", "commons-logging"},
+        {"log4j", "log4j"},
+        {"org.slf4j", "slf4j-log4j12"},
+        {"org.slf4j", "slf4j-simple"},
+        {"org.slf4j", "slf4j-jdk14"},
+        {"ch.qos.logback", "*"},
+        {"org.apache.logging.log4j", "log4j-slf4j-impl"},
+        {"javax.servlet", "servlet-api"},
+        {"javax.servlet", "javax.servlet-api"},
+        {"com.google.code.findbugs", "jsr305"},
+        {"com.google.guava", "guava-jdk5"},
+        {"junit", "junit"},
+        {"org.hamcrest", "hamcrest-core"},
+        {"xml-apis", "xml-apis"},
+        {"xerces", "xercesImpl"},
+        {"stax", "stax-api"},
+        {"javax.xml.stream", "stax-api"},
+        {"org.mortbay.jetty", "*"},
+        {"com.sun.jersey", "*"},
+        {"org.apache.hadoop", "*"},
+        {"*", "asm"},
+        {"*", "cglib"},
+        {"io.netty", "netty"},
+        {"org.ow2.asm", "asm"},
+        {"org.codehaus.jackson", "*"},
+    };
+    private static final int EDGES = 200;
+    private static final int MODULES = 500;
+
+    private List<List<ExcludeMetadata>> edgeExcludes;
+    private List<ModuleIdentifier> modules;
+    private List<ExcludeSpec> mergedSpecs;
+    private ModuleExclusions warmExclusions;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        edgeExcludes = new ArrayList<>(EDGES);
+        for (int i = 0; i < EDGES; i++) {
+            int count = random.nextInt(6);
+            List<ExcludeMetadata> excludes = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                String[] exclude = COMMON_EXCLUDES[random.nextInt(COMMON_EXCLUDES.length)];
+                excludes.add(new DefaultExclude(DefaultModuleIdentifier.newId(exclude[0], exclude[1])));
+            }
+            edgeExcludes.add(excludes);
+        }
+        modules = new ArrayList<>(MODULES);
+        for (int i = 0; i < MODULES; i++) {
+            String[] exclude = COMMON_EXCLUDES[random.nextInt(COMMON_EXCLUDES.length)];
+            String group = random.nextInt(4) == 0 ? exclude[0] : "org.example.group" + random.nextInt(50);
+            String name = random.nextInt(4) == 0 ? exclude[1] : "module" + i;
+            modules.add(DefaultModuleIdentifier.newId(group, name));
+        }
+        warmExclusions = new ModuleExclusions();
+        mergedSpecs = merge(warmExclusions);
+    }
+
+    private List<ExcludeSpec> merge(ModuleExclusions exclusions) {
+        List<ExcludeSpec> result = new ArrayList<>(EDGES);
+        ExcludeSpec inherited = exclusions.nothing();
+        for (List<ExcludeMetadata> excludes : edgeExcludes) {
+            ExcludeSpec edgeSpec = exclusions.excludeAny(excludes);
+            // Start a new path every few edges, otherwise the edge also excludes what its parent excludes
+            ExcludeSpec path = result.size() % 8 == 0 ? edgeSpec : exclusions.excludeAny(inherited, edgeSpec);
+            // A node reached through two paths only excludes what both paths exclude
+            result.add(exclusions.excludeAll(inherited, path));
+            inherited = path;
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ExcludeSpec> mergeWithColdCaches() {
+        return merge(new ModuleExclusions());
+    }
+
+    @Benchmark
+    public List<ExcludeSpec> mergeWithWarmCaches() {
+        return merge(warmExclusions);
+    }
+
+    @Benchmark
+    public void evaluate(Blackhole blackhole) {
+        for (ExcludeSpec spec : mergedSpecs) {
+            for (ModuleIdentifier module : modules) {
+                blackhole.consume(spec.excludes(module));
+            }
+        }
+    }
+}
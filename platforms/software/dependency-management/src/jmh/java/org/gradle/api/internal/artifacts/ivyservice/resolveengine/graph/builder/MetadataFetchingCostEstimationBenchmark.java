@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.builder;
+
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier;
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier;
+import org.gradle.internal.component.model.ComponentOverrideMetadata;
+import org.gradle.internal.resolve.resolver.ComponentMetaDataResolver;
+import org.gradle.internal.resolve.result.BuildableComponentResolveResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures estimating the metadata fetching cost of the targets of a wide node of a synthetic graph, serially and in slices
+ * run concurrently, for several numbers of targets and slice sizes.
+ *
+ * Realizing the metadata of a cached component, decoding its descriptor and applying component metadata rules, is simulated
+ * by burning a fixed amount of CPU per component. The slices are run by a fixed thread pool, the size of the default
+ * maximum number of workers, which schedules them with less overhead than the build operation queue.
+ * The benchmark therefore shows the smallest number of targets and slice size for which concurrent estimation pays off.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class MetadataFetchingCostEstimationBenchmark {
+    @Param({"4", "8", "32", "256"})
+    int components;
+
+    @Param({"1", "4", "16", "64"})
+    int componentsPerSlice;
+
+    @Param({"1000", "10000"})
+    long realizationTokens;
+
+    private List<ModuleComponentIdentifier> componentIds;
+    private ComponentMetaDataResolver resolver;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        componentIds = new ArrayList<>(components);
+        for (int i = 0; i < components; i++) {
+            componentIds.add(DefaultModuleComponentIdentifier.newId(DefaultModuleIdentifier.newId("org.example", "module" + i), "1.0"));
+        }
+        resolver = new CachedMetadataResolver(realizationTokens);
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void estimateSerially(Blackhole blackhole) {
+        for (ComponentIdentifier componentId : componentIds) {
+            blackhole.consume(resolver.isFetchingMetadataCheap(componentId));
+        }
+    }
+
+    @Benchmark
+    public void estimateInSlices(Blackhole blackhole) throws ExecutionException, InterruptedException {
+        boolean[] expensive = new boolean[components];
+        List<Future<?>> slices = new ArrayList<>();
+        for (int start = 0; start < components; start += componentsPerSlice) {
+            int end = Math.min(start + componentsPerSlice, components);
+            EstimateMetadataFetchingCostOperation operation = new EstimateMetadataFetchingCostOperation(resolver, componentIds, start, end, expensive);
+            slices.add(executor.submit(() -> operation.run(null)));
+        }
+        for (Future<?> slice : slices) {
+            slice.get();
+        }
+        blackhole.consume(expensive);
+    }
+
+    private static class CachedMetadataResolver implements ComponentMetaDataResolver {
+        private final long realizationTokens;
+
+        private CachedMetadataResolver(long realizationTokens) {
+            this.realizationTokens = realizationTokens;
+        }
+
+        @Override
+        public void resolve(ComponentIdentifier identifier, ComponentOverrideMetadata componentOverrideMetadata, BuildableComponentResolveResult result) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isFetchingMetadataCheap(ComponentIdentifier identifier) {
+            Blackhole.consumeCPU(realizationTokens);
+            return true;
+        }
+    }
+}
@@ -26,6 +26,7 @@
 import org.gradle.api.internal.artifacts.ivyservice.IvyContextManager;
 import org.gradle.api.internal.artifacts.ivyservice.dependencysubstitution.ModuleSelectorStringNotationConverter;
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionParser;
+import org.gradle.api.internal.artifacts.ivyservice.modulecache.ModuleMetadataInterner;
 import org.gradle.api.internal.artifacts.ivyservice.moduleconverter.dependencies.DefaultDependencyMetadataFactory;
 import org.gradle.api.internal.artifacts.ivyservice.moduleconverter.dependencies.DefaultExcludeRuleConverter;
 import org.gradle.api.internal.artifacts.ivyservice.moduleconverter.dependencies.DefaultLocalConfigurationMetadataBuilder;
@@ -88,6 +89,10 @@ NotationParser<Object, ComponentSelector> createComponentSelectorFactory(Immutab
             .toComposite();
     }
 
+    ModuleMetadataInterner createModuleMetadataInterner() {
+        return new ModuleMetadataInterner();
+    }
+
     VersionParser createVersionParser() {
         return new VersionParser();
     }
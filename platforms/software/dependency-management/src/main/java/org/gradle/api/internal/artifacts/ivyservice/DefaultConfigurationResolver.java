@@ -18,6 +18,7 @@
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import org.gradle.api.attributes.Attribute;
 import org.gradle.api.artifacts.ResolveException;
 import org.gradle.api.artifacts.UnresolvedDependency;
 import org.gradle.api.artifacts.component.BuildIdentifier;
@@ -29,6 +30,7 @@
 import org.gradle.api.internal.artifacts.DefaultResolverResults;
 import org.gradle.api.internal.artifacts.GlobalDependencyResolutionRules;
 import org.gradle.api.internal.artifacts.ImmutableModuleIdentifierFactory;
+import org.gradle.api.internal.artifacts.Module;
 import org.gradle.api.internal.artifacts.RepositoriesSupplier;
 import org.gradle.api.internal.artifacts.ResolveContext;
 import org.gradle.api.internal.artifacts.ResolveExceptionContextualizer;
@@ -38,6 +40,7 @@
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.ComponentResolvers;
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.verification.DependencyVerificationOverride;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.DependencyGraphResolver;
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.SelectedComponentsPrefetcher;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.artifact.BuildDependenciesOnlyVisitedArtifactSet;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.artifact.DefaultResolvedArtifactsBuilder;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.artifact.DependencyArtifactsVisitor;
@@ -66,12 +69,14 @@
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.result.SelectedVariantSerializer;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.result.StreamingResolutionResultBuilder;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.store.ResolutionResultsStoreFactory;
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.store.SelectedComponentsCache;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.store.StoreSet;
 import org.gradle.api.internal.artifacts.repositories.ResolutionAwareRepository;
 import org.gradle.api.internal.artifacts.result.MinimalResolutionResult;
 import org.gradle.api.internal.artifacts.transform.ArtifactVariantSelector;
 import org.gradle.api.internal.artifacts.transform.VariantSelectorFactory;
 import org.gradle.api.internal.artifacts.type.ArtifactTypeRegistry;
+import org.gradle.api.internal.attributes.AttributeContainerInternal;
 import org.gradle.api.internal.attributes.AttributeDesugaring;
 import org.gradle.api.internal.attributes.AttributesSchemaInternal;
 import org.gradle.api.specs.Spec;
@@ -80,6 +85,9 @@
 import org.gradle.cache.internal.Store;
 import org.gradle.internal.Cast;
 import org.gradle.internal.component.model.DependencyMetadata;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
 import org.gradle.internal.locking.DependencyLockingGraphVisitor;
 import org.gradle.internal.model.CalculatedValueContainerFactory;
 import org.gradle.internal.operations.BuildOperationExecutor;
@@ -92,6 +100,10 @@
 
 public class DefaultConfigurationResolver implements ConfigurationResolver {
     private static final Spec<DependencyMetadata> IS_LOCAL_EDGE = element -> element.getSelector() instanceof ProjectComponentSelector;
+    /**
+     * Enables prefetching the metadata of the components selected by the previous resolution of a graph. See {@link SelectedComponentsPrefetcher}.
+     */
+    private static final String PREFETCH_SELECTED_COMPONENTS = "org.gradle.internal.dm.prefetch.selected.components";
     private final ComponentResolversFactory componentResolversFactory;
     private final DependencyGraphResolver dependencyGraphResolver;
     private final RepositoriesSupplier repositoriesSupplier;
@@ -115,6 +127,7 @@ public class DefaultConfigurationResolver implements ConfigurationResolver {
     private final ComponentDetailsSerializer componentDetailsSerializer;
     private final SelectedVariantSerializer selectedVariantSerializer;
     private final ResolvedVariantCache resolvedVariantCache;
+    private final SelectedComponentsCache selectedComponentsCache;
 
     public DefaultConfigurationResolver(
         ComponentResolversFactory componentResolversFactory,
@@ -138,7 +151,8 @@ public DefaultConfigurationResolver(
         ResolveExceptionContextualizer exceptionContextualizer,
         ComponentDetailsSerializer componentDetailsSerializer,
         SelectedVariantSerializer selectedVariantSerializer,
-        ResolvedVariantCache resolvedVariantCache
+        ResolvedVariantCache resolvedVariantCache,
+        SelectedComponentsCache selectedComponentsCache
     ) {
         this.componentResolversFactory = componentResolversFactory;
         this.dependencyGraphResolver = dependencyGraphResolver;
@@ -163,6 +177,7 @@ public DefaultConfigurationResolver(
         this.componentDetailsSerializer = componentDetailsSerializer;
         this.selectedVariantSerializer = selectedVariantSerializer;
         this.resolvedVariantCache = resolvedVariantCache;
+        this.selectedComponentsCache = selectedComponentsCache;
     }
 
     @Override
@@ -237,7 +252,20 @@ public ResolverResults resolveGraph(ResolveContext resolveContext) {
             resolutionStrategy.confirmUnlockedConfigurationResolved(resolveContext.getName());
         }
 
-        ComponentResolvers resolvers = componentResolversFactory.create(resolveContext, getRepositories(), consumerSchema);
+        List<ResolutionAwareRepository> repositories = getRepositories();
+        ComponentResolvers resolvers = componentResolversFactory.create(resolveContext, repositories, consumerSchema);
+
+        // Reading and recording the selected components costs a cache lookup and write per resolution, which only pays off for large graphs
+        if (Boolean.getBoolean(PREFETCH_SELECTED_COMPONENTS)) {
+            SelectedComponentsPrefetcher prefetcher = new SelectedComponentsPrefetcher(
+                selectedComponentsCache,
+                selectedComponentsConfigurationKey(resolveContext),
+                selectedComponentsInputsKey(resolveContext, repositories),
+                buildOperationExecutor
+            );
+            prefetcher.prefetch(resolvers.getComponentResolver());
+            graphVisitors.add(prefetcher);
+        }
 
         List<DependencyArtifactsVisitor> artifactVisitors = ImmutableList.of(oldModelVisitor, fileDependencyVisitor, artifactsBuilder);
         graphVisitors.add(new ResolvedArtifactsGraphVisitor(
@@ -300,6 +328,44 @@ public ResolverResults resolveGraph(ResolveContext resolveContext) {
         );
     }
 
+    /**
+     * Identifies the resolved configuration, independently of the inputs of its resolution.
+     */
+    private static HashCode selectedComponentsConfigurationKey(ResolveContext resolveContext) {
+        Hasher hasher = Hashing.newHasher();
+        hasher.putString(resolveContext.getIdentityPath().getPath());
+        Module module = resolveContext.getModule();
+        hasher.putString(String.valueOf(module.getGroup()));
+        hasher.putString(String.valueOf(module.getName()));
+        return hasher.hash();
+    }
+
+    /**
+     * Fingerprints the inputs of a graph resolution that decide which components are selected:
+     * the declared dependencies and requested attributes of the configuration, and the repositories it resolves from.
+     */
+    private static HashCode selectedComponentsInputsKey(ResolveContext resolveContext, List<ResolutionAwareRepository> repositories) {
+        Hasher hasher = Hashing.newHasher();
+        hasher.putString(String.valueOf(resolveContext.getModule().getVersion()));
+        List<? extends DependencyMetadata> dependencies = resolveContext.toRootComponent().getRootVariant().getMetadata().getDependencies();
+        hasher.putInt(dependencies.size());
+        for (DependencyMetadata dependency : dependencies) {
+            hasher.putString(dependency.getSelector().getDisplayName());
+            hasher.putBoolean(dependency.isConstraint());
+        }
+        AttributeContainerInternal attributes = resolveContext.getAttributes();
+        hasher.putInt(attributes.keySet().size());
+        for (Attribute<?> attribute : attributes.keySet()) {
+            hasher.putString(attribute.getName());
+            hasher.putString(String.valueOf(attributes.getAttribute(attribute)));
+        }
+        hasher.putInt(repositories.size());
+        for (ResolutionAwareRepository repository : repositories) {
+            hasher.putString(repository.getDescriptor().getId());
+        }
+        return hasher.hash();
+    }
+
     @Override
     public List<ResolutionAwareRepository> getRepositories() {
         return Cast.uncheckedCast(repositoriesSupplier.get());
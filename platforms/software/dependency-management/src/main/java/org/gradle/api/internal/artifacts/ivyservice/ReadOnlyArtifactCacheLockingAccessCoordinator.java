@@ -39,9 +39,15 @@
  *
  * Operations use in-process locking for the read-only cache (even when requesting file locking) and
  * write operations use the regular locking mechanism (file or in-process).
+ *
+ * As the read-only cache is never modified while in use, the entries found in its indexes are remembered
+ * for as long as the cache is open. Repeated lookups then no longer take the in-process lock, which otherwise
+ * serializes the lookups of all concurrent resolutions. Missing entries are not remembered, so that entries added
+ * to the read-only cache while the daemon is running are found by later builds.
  */
 public class ReadOnlyArtifactCacheLockingAccessCoordinator implements ArtifactCacheLockingAccessCoordinator, Closeable {
     private final static Logger LOGGER = Logging.getLogger(ReadOnlyArtifactCacheLockingAccessCoordinator.class);
+    private static final int MAX_REMEMBERED_ENTRIES_PER_INDEX = 100000;
 
     private final PersistentCache cache;
 
@@ -86,7 +92,7 @@ public <K, V> IndexedCache<K, V> createCache(String cacheName, Serializer<K> key
         String cacheFileInMetaDataStore = CacheLayout.META_DATA.getKey() + "/" + cacheName;
         IndexedCacheParameters<K, V> parameters = IndexedCacheParameters.of(cacheFileInMetaDataStore, keySerializer, valueSerializer);
         if (cache.indexedCacheExists(parameters)) {
-            return new TransparentCacheLockingIndexedCache<>(new FailSafeIndexedCache<>(cache.createIndexedCache(parameters)));
+            return new RememberingIndexedCache<>(new TransparentCacheLockingIndexedCache<>(new FailSafeIndexedCache<>(cache.createIndexedCache(parameters))), MAX_REMEMBERED_ENTRIES_PER_INDEX);
         }
         return new EmptyIndexedCache<>();
     }
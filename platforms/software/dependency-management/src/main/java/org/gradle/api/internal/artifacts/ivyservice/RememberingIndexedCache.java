@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.gradle.cache.IndexedCache;
+
+import javax.annotation.Nullable;
+import java.util.function.Function;
+
+/**
+ * Remembers the entries found in an index that is never modified while in use, so that repeated lookups do not hit the index again.
+ *
+ * Only the entries that were found are remembered, up to the given number of entries. The absence of an entry is not remembered,
+ * so an entry added to the index later on is still found.
+ */
+class RememberingIndexedCache<K, V> implements IndexedCache<K, V> {
+    private final IndexedCache<K, V> delegate;
+    private final Cache<K, V> entries;
+
+    RememberingIndexedCache(IndexedCache<K, V> delegate, int maxEntries) {
+        this.delegate = delegate;
+        this.entries = CacheBuilder.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    @Nullable
+    @Override
+    public V getIfPresent(K key) {
+        V value = entries.getIfPresent(key);
+        if (value == null) {
+            value = delegate.getIfPresent(key);
+            if (value != null) {
+                entries.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> producer) {
+        V value = getIfPresent(key);
+        return value != null ? value : producer.apply(key);
+    }
+
+    @Override
+    public void put(K key, V value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public void remove(K key) {
+        delegate.remove(key);
+    }
+
+    long size() {
+        return entries.size();
+    }
+}
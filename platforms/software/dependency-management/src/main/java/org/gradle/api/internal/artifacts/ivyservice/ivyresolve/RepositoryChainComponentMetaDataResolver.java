@@ -33,6 +33,7 @@
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.gradle.internal.resolve.ResolveExceptionAnalyzer.hasCriticalFailure;
 import static org.gradle.internal.resolve.ResolveExceptionAnalyzer.isCriticalFailure;
@@ -43,9 +44,15 @@ public class RepositoryChainComponentMetaDataResolver implements ComponentMetaDa
     private final List<ModuleComponentRepository<ModuleComponentGraphResolveState>> repositories = new ArrayList<>();
     private final List<String> repositoryNames = new ArrayList<>();
     private final VersionedComponentChooser versionedComponentChooser;
+    private final RepositoryGroupPresenceIndex presenceIndex;
 
     public RepositoryChainComponentMetaDataResolver(VersionedComponentChooser componentChooser) {
+        this(componentChooser, RepositoryGroupPresenceIndex.disabled());
+    }
+
+    public RepositoryChainComponentMetaDataResolver(VersionedComponentChooser componentChooser, RepositoryGroupPresenceIndex presenceIndex) {
         this.versionedComponentChooser = componentChooser;
+        this.presenceIndex = presenceIndex;
     }
 
     public void add(ModuleComponentRepository<ModuleComponentGraphResolveState> repository) {
@@ -88,7 +95,7 @@ private void resolveModule(ModuleComponentIdentifier identifier, ComponentOverri
             resolveStates.add(new ComponentMetaDataResolveState(identifier, componentOverrideMetadata, repository, versionedComponentChooser));
         }
 
-        final RepositoryChainModuleResolution latestResolved = findBestMatch(resolveStates, errors);
+        final RepositoryChainModuleResolution latestResolved = findBestMatch(identifier.getGroup(), resolveStates, errors);
         if (latestResolved != null) {
             LOGGER.debug("Using {} from {}", latestResolved.component.getId(), latestResolved.repository);
             for (Throwable error : errors) {
@@ -110,13 +117,13 @@ private void resolveModule(ModuleComponentIdentifier identifier, ComponentOverri
     }
 
     @Nullable
-    private RepositoryChainModuleResolution findBestMatch(List<ComponentMetaDataResolveState> resolveStates, Collection<Throwable> failures) {
+    private RepositoryChainModuleResolution findBestMatch(String group, List<ComponentMetaDataResolveState> resolveStates, Collection<Throwable> failures) {
         LinkedList<ComponentMetaDataResolveState> queue = new LinkedList<>(resolveStates);
 
         LinkedList<ComponentMetaDataResolveState> missing = new LinkedList<>();
 
         // A first pass to do local resolves only
-        RepositoryChainModuleResolution best = findBestMatch(queue, failures, missing);
+        RepositoryChainModuleResolution best = findBestMatch(group, queue, failures, missing);
         if (hasCriticalFailure(failures)) {
             return null;
         }
@@ -127,11 +134,33 @@ private RepositoryChainModuleResolution findBestMatch(List<ComponentMetaDataReso
         // Nothing found locally - try a remote search for all resolve states that were not yet searched remotely
         queue.addAll(missing);
         missing.clear();
-        return findBestMatch(queue, failures, missing);
+        deferRepositoriesMissingGroup(group, queue);
+        return findBestMatch(group, queue, failures, missing);
+    }
+
+    /**
+     * Moves the repositories that are known not to host the group to the end of the queue, keeping the order of the others.
+     */
+    private void deferRepositoriesMissingGroup(String group, LinkedList<ComponentMetaDataResolveState> queue) {
+        if (!presenceIndex.isEnabled() || queue.size() < 2) {
+            return;
+        }
+        List<ComponentMetaDataResolveState> deferred = new ArrayList<>();
+        queue.removeIf(state -> {
+            if (presenceIndex.isKnownMissing(state.repository.getId(), group)) {
+                deferred.add(state);
+                return true;
+            }
+            return false;
+        });
+        if (!deferred.isEmpty()) {
+            LOGGER.debug("Searching {} last for group '{}', as they did not host it in previous builds", deferred.stream().map(state -> state.repository.getName()).collect(Collectors.toList()), group);
+            queue.addAll(deferred);
+        }
     }
 
     @Nullable
-    private RepositoryChainModuleResolution findBestMatch(LinkedList<ComponentMetaDataResolveState> queue, Collection<Throwable> failures, Collection<ComponentMetaDataResolveState> missing) {
+    private RepositoryChainModuleResolution findBestMatch(String group, LinkedList<ComponentMetaDataResolveState> queue, Collection<Throwable> failures, Collection<ComponentMetaDataResolveState> missing) {
         RepositoryChainModuleResolution best = null;
         while (!queue.isEmpty()) {
             ComponentMetaDataResolveState request = queue.removeFirst();
@@ -148,9 +177,12 @@ private RepositoryChainModuleResolution findBestMatch(LinkedList<ComponentMetaDa
                     // Queue this up for checking again later
                     if (request.canMakeFurtherAttempts()) {
                         missing.add(request);
+                    } else {
+                        presenceIndex.recordMissing(request.repository.getId(), group);
                     }
                     break;
                 case Resolved:
+                    presenceIndex.recordHosted(request.repository.getId(), group);
                     RepositoryChainModuleResolution moduleResolution = new RepositoryChainModuleResolution(request.repository, metaDataResolveResult.getMetaData());
                     if (!metaDataResolveResult.getMetaData().getMetadata().isMissing()) {
                         return moduleResolution;
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve;
+
+import org.gradle.api.internal.artifacts.ivyservice.ArtifactCacheLockingAccessCoordinator;
+import org.gradle.cache.IndexedCache;
+import org.gradle.internal.serialize.AbstractSerializer;
+import org.gradle.internal.serialize.BaseSerializerFactory;
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+import org.gradle.util.internal.BuildCommencedTimeProvider;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Remembers, across builds, which groups each remote repository has served modules for, and which groups it was repeatedly missing.
+ *
+ * <p>This is only used to choose the order in which repositories are searched remotely for a module, once no repository
+ * could provide it from the cache. A repository that never served any module of a group, and was missing several modules
+ * of that group, is searched after the other repositories. It is still searched when none of the other repositories
+ * provides the module, so a stale entry can only change which repository a module is downloaded from when the same
+ * module is available from several repositories.</p>
+ *
+ * <p>Because it can change the order in which the declared repositories are searched, the index is only used when enabled
+ * with the {@value #ENABLED_PROPERTY} system property, and never when dependencies are refreshed. Entries for missing groups expire after a day.</p>
+ */
+public class RepositoryGroupPresenceIndex {
+    public static final String ENABLED_PROPERTY = "org.gradle.internal.repository.presence.index";
+    private static final int MISSES_BEFORE_DEFERRING = 3;
+    private static final long MISSING_ENTRY_MAX_AGE = TimeUnit.DAYS.toMillis(1);
+    private static final Entry UNKNOWN = new Entry(false, 0, 0);
+
+    private final ArtifactCacheLockingAccessCoordinator cacheAccessCoordinator;
+    private final BuildCommencedTimeProvider timeProvider;
+    private final boolean enabled;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private IndexedCache<String, Entry> cache;
+
+    public RepositoryGroupPresenceIndex(ArtifactCacheLockingAccessCoordinator cacheAccessCoordinator, BuildCommencedTimeProvider timeProvider, boolean enabled) {
+        this.cacheAccessCoordinator = cacheAccessCoordinator;
+        this.timeProvider = timeProvider;
+        this.enabled = enabled;
+    }
+
+    public static RepositoryGroupPresenceIndex disabled() {
+        return new RepositoryGroupPresenceIndex(null, null, false);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns true when the repository is known not to host modules of the given group.
+     */
+    public boolean isKnownMissing(String repositoryId, String group) {
+        if (!enabled) {
+            return false;
+        }
+        Entry entry = get(key(repositoryId, group));
+        return !entry.hosted && entry.misses >= MISSES_BEFORE_DEFERRING && !isExpired(entry);
+    }
+
+    public void recordHosted(String repositoryId, String group) {
+        if (!enabled) {
+            return;
+        }
+        update(key(repositoryId, group), current -> {
+            if (current.hosted) {
+                return current;
+            }
+            return new Entry(true, 0, timeProvider.getCurrentTime());
+        });
+    }
+
+    public void recordMissing(String repositoryId, String group) {
+        if (!enabled) {
+            return;
+        }
+        update(key(repositoryId, group), current -> {
+            if (current.hosted) {
+                return current;
+            }
+            if (current == UNKNOWN || isExpired(current)) {
+                return new Entry(false, 1, timeProvider.getCurrentTime());
+            }
+            if (current.misses >= MISSES_BEFORE_DEFERRING) {
+                return current;
+            }
+            return new Entry(false, current.misses + 1, current.createdAt);
+        });
+    }
+
+    private boolean isExpired(Entry entry) {
+        return timeProvider.getCurrentTime() - entry.createdAt > MISSING_ENTRY_MAX_AGE;
+    }
+
+    private Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            // Load outside of the map, so that the map is not locked while reading the persistent cache
+            Entry loaded = load(key);
+            entry = entries.putIfAbsent(key, loaded);
+            if (entry == null) {
+                entry = loaded;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Updates the in-memory entry atomically, then writes the latest entry to the persistent cache if it changed.
+     */
+    private void update(String key, UnaryOperator<Entry> action) {
+        get(key);
+        boolean[] changed = new boolean[1];
+        entries.computeIfPresent(key, (k, current) -> {
+            Entry updated = action.apply(current);
+            changed[0] = updated != current;
+            return updated;
+        });
+        if (changed[0]) {
+            IndexedCache<String, Entry> cache = getCache();
+            cacheAccessCoordinator.useCache(() -> cache.put(key, entries.get(key)));
+        }
+    }
+
+    private Entry load(String key) {
+        IndexedCache<String, Entry> cache = getCache();
+        Entry entry = cacheAccessCoordinator.useCache(() -> cache.getIfPresent(key));
+        return entry == null ? UNKNOWN : entry;
+    }
+
+    private synchronized IndexedCache<String, Entry> getCache() {
+        if (cache == null) {
+            cache = cacheAccessCoordinator.createCache("repository-group-presence", BaseSerializerFactory.STRING_SERIALIZER, new EntrySerializer());
+        }
+        return cache;
+    }
+
+    private static String key(String repositoryId, String group) {
+        return repositoryId + ":" + group;
+    }
+
+    private static class Entry {
+        private final boolean hosted;
+        private final int misses;
+        private final long createdAt;
+
+        Entry(boolean hosted, int misses, long createdAt) {
+            this.hosted = hosted;
+            this.misses = misses;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private static class EntrySerializer extends AbstractSerializer<Entry> {
+        @Override
+        public Entry read(Decoder decoder) throws Exception {
+            return new Entry(decoder.readBoolean(), decoder.readSmallInt(), decoder.readLong());
+        }
+
+        @Override
+        public void write(Encoder encoder, Entry value) throws Exception {
+            encoder.writeBoolean(value.hosted);
+            encoder.writeSmallInt(value.misses);
+            encoder.writeLong(value.createdAt);
+        }
+    }
+}
@@ -126,6 +126,17 @@ public DependencyVerificationOverride dependencyVerificationOverride(
         return DependencyVerificationOverride.NO_VERIFICATION;
     }
 
+    /**
+     * Returns whether the checksums of downloaded artifacts may be verified, or written to the dependency verification file, during this build.
+     */
+    public boolean isDependencyVerificationEnabled() {
+        if (!startParameter.getWriteDependencyVerifications().isEmpty()) {
+            return true;
+        }
+        return startParameter.getDependencyVerificationMode() != DependencyVerificationMode.OFF
+            && DependencyVerificationOverride.dependencyVerificationsFile(gradleDir).exists();
+    }
+
     private File computeReportDirectory(BuildCommencedTimeProvider timeProvider) {
         // TODO: This is not quite correct: we're using the "root project" build directory
         // but technically speaking, this can be changed _after_ this service is created.
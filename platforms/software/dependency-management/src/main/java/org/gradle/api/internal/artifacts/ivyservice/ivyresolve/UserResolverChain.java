@@ -46,12 +46,13 @@ public UserResolverChain(VersionComparator versionComparator,
                              ComponentMetadataProcessorFactory componentMetadataProcessor,
                              ComponentMetadataSupplierRuleExecutor componentMetadataSupplierRuleExecutor,
                              CalculatedValueContainerFactory calculatedValueContainerFactory,
-                             CachePolicy cachePolicy
+                             CachePolicy cachePolicy,
+                             RepositoryGroupPresenceIndex presenceIndex
     ) {
         this.componentSelectionRules = componentSelectionRules;
         VersionedComponentChooser componentChooser = new DefaultVersionedComponentChooser(versionComparator, versionParser, componentSelectionRules, attributesSchema);
         componentIdResolver = new RepositoryChainDependencyToComponentIdResolver(componentChooser, versionParser, consumerAttributes, attributesFactory, componentMetadataProcessor, componentMetadataSupplierRuleExecutor, cachePolicy);
-        componentResolver = new RepositoryChainComponentMetaDataResolver(componentChooser);
+        componentResolver = new RepositoryChainComponentMetaDataResolver(componentChooser, presenceIndex);
         artifactResolver = new RepositoryChainArtifactResolver(calculatedValueContainerFactory);
     }
 
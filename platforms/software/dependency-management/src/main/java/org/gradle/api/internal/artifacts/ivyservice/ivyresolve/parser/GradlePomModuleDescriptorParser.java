@@ -64,15 +64,18 @@ public final class GradlePomModuleDescriptorParser extends AbstractModuleDescrip
     private final VersionSelectorScheme mavenVersionSelectorScheme;
     private final ImmutableModuleIdentifierFactory moduleIdentifierFactory;
     private final MavenMutableModuleMetadataFactory metadataFactory;
+    private final ImportedDependencyManagementCache importedDependencyManagementCache;
 
     public GradlePomModuleDescriptorParser(VersionSelectorScheme gradleVersionSelectorScheme,
                                            ImmutableModuleIdentifierFactory moduleIdentifierFactory,
-                                           FileResourceRepository fileResourceRepository, MavenMutableModuleMetadataFactory metadataFactory) {
+                                           FileResourceRepository fileResourceRepository, MavenMutableModuleMetadataFactory metadataFactory,
+                                           ImportedDependencyManagementCache importedDependencyManagementCache) {
         super(fileResourceRepository);
         this.gradleVersionSelectorScheme = gradleVersionSelectorScheme;
         mavenVersionSelectorScheme = new MavenVersionSelectorScheme(gradleVersionSelectorScheme);
         this.moduleIdentifierFactory = moduleIdentifierFactory;
         this.metadataFactory = metadataFactory;
+        this.importedDependencyManagementCache = importedDependencyManagementCache;
     }
 
     @Override
@@ -202,8 +205,10 @@ private Map<MavenDependencyKey, PomDependencyMgt> parseImportedDependencyMgts(De
                 ModuleComponentSelector importedId = DefaultModuleComponentSelector.newSelector(
                     DefaultModuleIdentifier.newId(currentDependencyMgt.getGroupId(), currentDependencyMgt.getArtifactId()),
                     new DefaultImmutableVersionConstraint(currentDependencyMgt.getVersion()));
-                PomReader importedPom = parsePomForSelector(parseContext, importedId, Maps.newHashMap());
-                for (Map.Entry<MavenDependencyKey, PomDependencyMgt> entry : importedPom.getDependencyMgt().entrySet()) {
+                LocallyAvailableExternalResource importedResource = resolvePomForSelector(parseContext, importedId);
+                Map<MavenDependencyKey, PomDependencyMgt> importedPomDependencyMgts = importedDependencyManagementCache.getOrParse(importedResource, parseContext,
+                    context -> parsePomResource(context, importedResource, Maps.newHashMap()).getDependencyMgt());
+                for (Map.Entry<MavenDependencyKey, PomDependencyMgt> entry : importedPomDependencyMgts.entrySet()) {
                     if (!importedDependencyMgts.containsKey(entry.getKey())) {
                         importedDependencyMgts.put(entry.getKey(), entry.getValue());
                     }
@@ -228,10 +233,13 @@ private PomReader parsePomForId(DescriptorParseContext parseContext, ModuleCompo
     }
 
     private PomReader parsePomForSelector(DescriptorParseContext parseContext, ModuleComponentSelector selector, Map<String, String> childProperties) throws IOException, SAXException {
+        return parsePomResource(parseContext, resolvePomForSelector(parseContext, selector), childProperties);
+    }
+
+    private LocallyAvailableExternalResource resolvePomForSelector(DescriptorParseContext parseContext, ModuleComponentSelector selector) {
         ModuleDependencyMetadata moduleDependencyMetadata = toDependencyMetadata(selector);
         VersionSelector acceptor = mavenVersionSelectorScheme.parseSelector(selector.getVersion());
-        LocallyAvailableExternalResource localResource = parseContext.getMetaDataArtifact(moduleDependencyMetadata, acceptor, ArtifactType.MAVEN_POM);
-        return parsePomResource(parseContext, localResource, childProperties);
+        return parseContext.getMetaDataArtifact(moduleDependencyMetadata, acceptor, ArtifactType.MAVEN_POM);
     }
 
     private ModuleDependencyMetadata toDependencyMetadata(ModuleComponentSelector selector) {
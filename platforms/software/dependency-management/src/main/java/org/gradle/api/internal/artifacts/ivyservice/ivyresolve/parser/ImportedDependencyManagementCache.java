@@ -0,0 +1,240 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.gradle.api.artifacts.ModuleIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.data.MavenDependencyKey;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.data.PomDependencyMgt;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionSelector;
+import org.gradle.api.internal.component.ArtifactType;
+import org.gradle.internal.component.external.model.ModuleDependencyMetadata;
+import org.gradle.internal.resource.local.LocallyAvailableExternalResource;
+import org.xml.sax.SAXException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Caches the dependency management of POMs imported with the {@code import} scope, for the lifetime of a build tree.
+ *
+ * <p>Large BOMs are imported by the POMs of many modules, often through a shared parent, and were parsed again for each of them.
+ * An imported POM is parsed without any properties from the importing POM, so its dependency management only depends on its own
+ * content and on the content of the POMs it resolves while being parsed, such as its parents and its own imports.</p>
+ *
+ * <p>A cached entry records which POMs were resolved while it was parsed. Before it is reused, these resolutions are replayed against
+ * the current parse context, which also records them as sources of the importing module. The entry is only reused when all of them
+ * still resolve to the same, unchanged files.</p>
+ *
+ * <p>Parent POMs are not cached here. A parent is parsed with the properties of its child, which override its own, so its
+ * dependencies and dependency management differ for each child. The part that does not depend on the child, the DOM of the
+ * parent, cannot be shared either: DOM nodes cache their child lists lazily and are not safe to read from several threads.</p>
+ */
+public class ImportedDependencyManagementCache {
+    private final ConcurrentMap<FileState, CachedDependencyManagement> entries = new ConcurrentHashMap<>();
+
+    public Map<MavenDependencyKey, PomDependencyMgt> getOrParse(LocallyAvailableExternalResource importedPom, DescriptorParseContext parseContext, DependencyManagementParser parser) throws IOException, SAXException {
+        FileState key = FileState.of(importedPom.getFile());
+        CachedDependencyManagement cached = entries.get(key);
+        if (cached != null && cached.isUpToDate(parseContext)) {
+            return cached.dependencyManagement;
+        }
+
+        RecordingParseContext recordingContext = new RecordingParseContext(parseContext);
+        Map<MavenDependencyKey, PomDependencyMgt> dependencyManagement = snapshot(parser.parse(recordingContext));
+        entries.put(key, new CachedDependencyManagement(recordingContext.resolutions, dependencyManagement));
+        return dependencyManagement;
+    }
+
+    private static Map<MavenDependencyKey, PomDependencyMgt> snapshot(Map<MavenDependencyKey, PomDependencyMgt> dependencyManagement) {
+        ImmutableMap.Builder<MavenDependencyKey, PomDependencyMgt> builder = ImmutableMap.builderWithExpectedSize(dependencyManagement.size());
+        for (Map.Entry<MavenDependencyKey, PomDependencyMgt> entry : dependencyManagement.entrySet()) {
+            builder.put(entry.getKey(), new ImmutablePomDependencyMgt(entry.getValue()));
+        }
+        return builder.build();
+    }
+
+    public interface DependencyManagementParser {
+        Map<MavenDependencyKey, PomDependencyMgt> parse(DescriptorParseContext parseContext) throws IOException, SAXException;
+    }
+
+    private static class CachedDependencyManagement {
+        private final List<Resolution> resolutions;
+        private final Map<MavenDependencyKey, PomDependencyMgt> dependencyManagement;
+
+        CachedDependencyManagement(List<Resolution> resolutions, Map<MavenDependencyKey, PomDependencyMgt> dependencyManagement) {
+            this.resolutions = resolutions;
+            this.dependencyManagement = dependencyManagement;
+        }
+
+        boolean isUpToDate(DescriptorParseContext parseContext) {
+            for (Resolution resolution : resolutions) {
+                if (!resolution.result.equals(FileState.of(resolution.request.apply(parseContext).getFile()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class Resolution {
+        private final Function<DescriptorParseContext, LocallyAvailableExternalResource> request;
+        private final FileState result;
+
+        Resolution(Function<DescriptorParseContext, LocallyAvailableExternalResource> request, FileState result) {
+            this.request = request;
+            this.result = result;
+        }
+    }
+
+    private static class RecordingParseContext implements DescriptorParseContext {
+        private final DescriptorParseContext delegate;
+        private final List<Resolution> resolutions = new ArrayList<>();
+
+        RecordingParseContext(DescriptorParseContext delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public LocallyAvailableExternalResource getMetaDataArtifact(ModuleComponentIdentifier componentIdentifier, ArtifactType artifactType) {
+            return record(context -> context.getMetaDataArtifact(componentIdentifier, artifactType));
+        }
+
+        @Override
+        public LocallyAvailableExternalResource getMetaDataArtifact(ModuleDependencyMetadata dependencyMetadata, VersionSelector acceptor, ArtifactType artifactType) {
+            return record(context -> context.getMetaDataArtifact(dependencyMetadata, acceptor, artifactType));
+        }
+
+        private LocallyAvailableExternalResource record(Function<DescriptorParseContext, LocallyAvailableExternalResource> request) {
+            LocallyAvailableExternalResource resource = request.apply(delegate);
+            resolutions.add(new Resolution(request, FileState.of(resource.getFile())));
+            return resource;
+        }
+    }
+
+    /**
+     * Identifies the content of a POM file. Files in the module cache are never modified, but the files of local repositories may be.
+     */
+    private static class FileState {
+        private final File file;
+        private final long length;
+        private final long lastModified;
+
+        private FileState(File file, long length, long lastModified) {
+            this.file = file;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        static FileState of(File file) {
+            return new FileState(file, file.length(), file.lastModified());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            FileState that = (FileState) o;
+            return length == that.length && lastModified == that.lastModified && file.equals(that.file);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = file.hashCode();
+            result = 31 * result + Long.hashCode(length);
+            result = 31 * result + Long.hashCode(lastModified);
+            return result;
+        }
+    }
+
+    /**
+     * A copy of a dependency management element that no longer refers to the DOM of the POM it was parsed from.
+     */
+    private static class ImmutablePomDependencyMgt implements PomDependencyMgt {
+        private final MavenDependencyKey id;
+        private final String groupId;
+        private final String artifactId;
+        private final String version;
+        private final String scope;
+        private final String type;
+        private final String classifier;
+        private final List<ModuleIdentifier> excludedModules;
+
+        ImmutablePomDependencyMgt(PomDependencyMgt source) {
+            this.id = source.getId();
+            this.groupId = source.getGroupId();
+            this.artifactId = source.getArtifactId();
+            this.version = source.getVersion();
+            this.scope = source.getScope();
+            this.type = source.getType();
+            this.classifier = source.getClassifier();
+            this.excludedModules = ImmutableList.copyOf(source.getExcludedModules());
+        }
+
+        @Override
+        public MavenDependencyKey getId() {
+            return id;
+        }
+
+        @Override
+        public String getGroupId() {
+            return groupId;
+        }
+
+        @Override
+        public String getArtifactId() {
+            return artifactId;
+        }
+
+        @Override
+        public String getVersion() {
+            return version;
+        }
+
+        @Override
+        public String getScope() {
+            return scope;
+        }
+
+        @Override
+        public String getType() {
+            return type;
+        }
+
+        @Override
+        public String getClassifier() {
+            return classifier;
+        }
+
+        @Override
+        public List<ModuleIdentifier> getExcludedModules() {
+            return excludedModules;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.modulecache;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.gradle.api.artifacts.component.ModuleComponentSelector;
+import org.gradle.api.internal.capabilities.CapabilityInternal;
+import org.gradle.internal.component.external.model.maven.MavenDependencyDescriptor;
+import org.gradle.internal.component.model.ExcludeMetadata;
+
+/**
+ * De-duplicates the immutable parts of module metadata read from the cache, so that components retained in memory share them.
+ *
+ * <p>The same dependency declarations, exclusions and capabilities appear in the metadata of many different components,
+ * e.g. every module of a large platform depends on the same handful of libraries. Without interning, each decoded
+ * component holds its own copy of these for as long as it is retained by the in-memory metadata caches.</p>
+ *
+ * <p>Instances are weakly held, so values that are no longer referenced by any retained component can be collected.</p>
+ */
+public class ModuleMetadataInterner {
+    private final Interner<ModuleComponentSelector> selectors = Interners.newWeakInterner();
+    private final Interner<CapabilityInternal> capabilities = Interners.newWeakInterner();
+    private final Interner<ImmutableList<ExcludeMetadata>> excludes = Interners.newWeakInterner();
+    private final Interner<MavenDependencyDescriptor> mavenDependencies = Interners.newWeakInterner();
+
+    public ModuleComponentSelector intern(ModuleComponentSelector selector) {
+        return selectors.intern(selector);
+    }
+
+    public CapabilityInternal intern(CapabilityInternal capability) {
+        return capabilities.intern(capability);
+    }
+
+    public ImmutableList<ExcludeMetadata> intern(ImmutableList<ExcludeMetadata> excludes) {
+        if (excludes.isEmpty()) {
+            return ImmutableList.of();
+        }
+        return this.excludes.intern(excludes);
+    }
+
+    public MavenDependencyDescriptor intern(MavenDependencyDescriptor dependency) {
+        return mavenDependencies.intern(dependency);
+    }
+}
@@ -81,17 +81,19 @@ public class ModuleMetadataSerializer {
     private final IvyMutableModuleMetadataFactory ivyMetadataFactory;
     private final AttributeContainerSerializer attributeContainerSerializer;
     private final ModuleSourcesSerializer moduleSourcesSerializer;
+    private final ModuleMetadataInterner interner;
 
-    public ModuleMetadataSerializer(AttributeContainerSerializer attributeContainerSerializer, MavenMutableModuleMetadataFactory mavenMetadataFactory, IvyMutableModuleMetadataFactory ivyMetadataFactory, ModuleSourcesSerializer moduleSourcesSerializer) {
+    public ModuleMetadataSerializer(AttributeContainerSerializer attributeContainerSerializer, MavenMutableModuleMetadataFactory mavenMetadataFactory, IvyMutableModuleMetadataFactory ivyMetadataFactory, ModuleSourcesSerializer moduleSourcesSerializer, ModuleMetadataInterner interner) {
         this.mavenMetadataFactory = mavenMetadataFactory;
         this.ivyMetadataFactory = ivyMetadataFactory;
         this.attributeContainerSerializer = attributeContainerSerializer;
         this.componentSelectorSerializer = new ModuleComponentSelectorSerializer(attributeContainerSerializer);
         this.moduleSourcesSerializer = moduleSourcesSerializer;
+        this.interner = interner;
     }
 
     public MutableModuleComponentResolveMetadata read(Decoder decoder, ImmutableModuleIdentifierFactory moduleIdentifierFactory, Map<Integer, MavenDependencyDescriptor> deduplicationDependencyCache) throws IOException {
-        return new Reader(decoder, moduleIdentifierFactory, attributeContainerSerializer, componentSelectorSerializer, mavenMetadataFactory, ivyMetadataFactory, moduleSourcesSerializer).read(deduplicationDependencyCache);
+        return new Reader(decoder, moduleIdentifierFactory, attributeContainerSerializer, componentSelectorSerializer, mavenMetadataFactory, ivyMetadataFactory, moduleSourcesSerializer, interner).read(deduplicationDependencyCache);
     }
 
     public void write(Encoder encoder, ModuleComponentResolveMetadata metadata, Map<ExternalDependencyDescriptor, Integer> deduplicationDependencyCache) throws IOException {
@@ -394,6 +396,7 @@ private static class Reader {
         private final MavenMutableModuleMetadataFactory mavenMetadataFactory;
         private final IvyMutableModuleMetadataFactory ivyMetadataFactory;
         private final ModuleSourcesSerializer moduleSourcesSerializer;
+        private final ModuleMetadataInterner interner;
         private ModuleComponentIdentifier id;
         private ImmutableAttributes attributes;
 
@@ -402,7 +405,8 @@ private Reader(Decoder decoder,
                        AttributeContainerSerializer attributeContainerSerializer,
                        ModuleComponentSelectorSerializer componentSelectorSerializer, MavenMutableModuleMetadataFactory mavenMutableModuleMetadataFactory,
                        IvyMutableModuleMetadataFactory ivyMetadataFactory,
-                       ModuleSourcesSerializer moduleSourcesSerializer) {
+                       ModuleSourcesSerializer moduleSourcesSerializer,
+                       ModuleMetadataInterner interner) {
             this.decoder = decoder;
             this.moduleIdentifierFactory = moduleIdentifierFactory;
             this.excludeRuleConverter = new DefaultExcludeRuleConverter(moduleIdentifierFactory);
@@ -411,6 +415,7 @@ private Reader(Decoder decoder,
             this.mavenMetadataFactory = mavenMutableModuleMetadataFactory;
             this.ivyMetadataFactory = ivyMetadataFactory;
             this.moduleSourcesSerializer = moduleSourcesSerializer;
+            this.interner = interner;
         }
 
         public MutableModuleComponentResolveMetadata read(Map<Integer, MavenDependencyDescriptor> deduplicationDependencyCache) throws IOException {
@@ -475,7 +480,7 @@ private ImmutableAttributes readAttributes() throws IOException {
         private void readVariantDependencies(MutableComponentVariant variant) throws IOException {
             int count = decoder.readSmallInt();
             for (int i = 0; i < count; i++) {
-                ModuleComponentSelector selector = componentSelectorSerializer.read(decoder);
+                ModuleComponentSelector selector = readSelector();
                 String reason = decoder.readNullableString();
                 ImmutableList<ExcludeMetadata> excludes = readVariantDependencyExcludes();
                 boolean endorsing = decoder.readBoolean();
@@ -487,7 +492,7 @@ private void readVariantDependencies(MutableComponentVariant variant) throws IOE
         private void readVariantConstraints(MutableComponentVariant variant) throws IOException {
             int count = decoder.readSmallInt();
             for (int i = 0; i < count; i++) {
-                ModuleComponentSelector selector = componentSelectorSerializer.read(decoder);
+                ModuleComponentSelector selector = readSelector();
                 String reason = decoder.readNullableString();
                 variant.addDependencyConstraint(selector.getGroup(), selector.getModule(), selector.getVersionConstraint(), reason, (ImmutableAttributes) selector.getAttributes());
             }
@@ -501,7 +506,11 @@ private ImmutableList<ExcludeMetadata> readVariantDependencyExcludes() throws IO
                 String module = readString();
                 builder.add(excludeRuleConverter.createExcludeRule(group, module));
             }
-            return builder.build();
+            return interner.intern(builder.build());
+        }
+
+        private ModuleComponentSelector readSelector() throws IOException {
+            return interner.intern(componentSelectorSerializer.read(decoder));
         }
 
         private void readVariantFiles(MutableComponentVariant variant) throws IOException {
@@ -515,7 +524,7 @@ private void readVariantCapabilities(MutableComponentVariant variant) throws IOE
             int capabilitiesCount = decoder.readSmallInt();
             for (int j = 0; j < capabilitiesCount; j++) {
                 String appendix = decoder.readNullableString();
-                CapabilityInternal capability = new DefaultImmutableCapability(decoder.readString(), decoder.readString(), decoder.readString());
+                CapabilityInternal capability = interner.intern(new DefaultImmutableCapability(decoder.readString(), decoder.readString(), decoder.readString()));
                 if (appendix != null) {
                     capability = new ShadowedImmutableCapability(capability, appendix);
                 }
@@ -598,7 +607,7 @@ private List<IvyDependencyDescriptor> readIvyDependencies() throws IOException {
         }
 
         private IvyDependencyDescriptor readIvyDependency() throws IOException {
-            ModuleComponentSelector requested = componentSelectorSerializer.read(decoder);
+            ModuleComponentSelector requested = readSelector();
             SetMultimap<String, String> configMappings = readDependencyConfigurationMapping();
             List<Artifact> artifacts = readDependencyArtifactDescriptors();
             List<Exclude> excludes = readDependencyExcludes();
@@ -670,12 +679,12 @@ private List<MavenDependencyDescriptor> readMavenDependencies(Map<Integer, Maven
         private MavenDependencyDescriptor readMavenDependency(Map<Integer, MavenDependencyDescriptor> deduplicationDependencyCache) throws IOException {
             int mapping = decoder.readSmallInt();
             if (mapping == deduplicationDependencyCache.size()) {
-                ModuleComponentSelector requested = componentSelectorSerializer.read(decoder);
+                ModuleComponentSelector requested = readSelector();
                 IvyArtifactName artifactName = IvyArtifactNameSerializer.INSTANCE.readNullable(decoder);
-                List<ExcludeMetadata> mavenExcludes = readMavenDependencyExcludes();
+                ImmutableList<ExcludeMetadata> mavenExcludes = readMavenDependencyExcludes();
                 MavenScope scope = MavenScope.values()[decoder.readSmallInt()];
                 MavenDependencyType type = MavenDependencyType.values()[decoder.readSmallInt()];
-                MavenDependencyDescriptor mavenDependencyDescriptor = new MavenDependencyDescriptor(scope, type, requested, artifactName, mavenExcludes);
+                MavenDependencyDescriptor mavenDependencyDescriptor = interner.intern(new MavenDependencyDescriptor(scope, type, requested, artifactName, mavenExcludes));
                 deduplicationDependencyCache.put(mapping, mavenDependencyDescriptor);
                 return mavenDependencyDescriptor;
             } else {
@@ -685,16 +694,16 @@ private MavenDependencyDescriptor readMavenDependency(Map<Integer, MavenDependen
             }
         }
 
-        private List<ExcludeMetadata> readMavenDependencyExcludes() throws IOException {
+        private ImmutableList<ExcludeMetadata> readMavenDependencyExcludes() throws IOException {
             int len = readCount();
-            List<ExcludeMetadata> result = Lists.newArrayListWithCapacity(len);
+            ImmutableList.Builder<ExcludeMetadata> builder = ImmutableList.builderWithExpectedSize(len);
             for (int i = 0; i < len; i++) {
                 String moduleOrg = readString();
                 String moduleName = readString();
                 DefaultExclude rule = new DefaultExclude(moduleIdentifierFactory.module(moduleOrg, moduleName));
-                result.add(rule);
+                builder.add(rule);
             }
-            return result;
+            return interner.intern(builder.build());
         }
 
         private int readCount() throws IOException {
@@ -28,12 +28,15 @@
 import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
 import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
 
 public class ModuleMetadataStore {
 
     private static final Joiner PATH_JOINER = Joiner.on("/");
+    private static final int MAX_READ_BUFFER_SIZE = 64 * 1024;
     private final PathKeyFileStore metaDataStore;
     private final ModuleMetadataSerializer moduleMetadataSerializer;
     private final ImmutableModuleIdentifierFactory moduleIdentifierFactory;
@@ -54,7 +57,7 @@ public MutableModuleComponentResolveMetadata getModuleDescriptor(ModuleComponent
         LocallyAvailableResource resource = metaDataStore.get(filePath);
         if (resource != null) {
             try {
-                try (StringDeduplicatingDecoder decoder = new StringDeduplicatingDecoder(new KryoBackedDecoder(new FileInputStream(resource.getFile())), stringInterner)) {
+                try (StringDeduplicatingDecoder decoder = new StringDeduplicatingDecoder(decoderFor(resource.getFile()), stringInterner)) {
                     return moduleMetadataSerializer.read(decoder, moduleIdentifierFactory, Maps.newHashMap());
                 }
             } catch (Exception e) {
@@ -77,6 +80,15 @@ public LocallyAvailableResource putModuleDescriptor(ModuleComponentAtRepositoryK
         });
     }
 
+    /**
+     * Descriptors are always decoded in full, so size the read buffer to the file, up to a bound.
+     * Most descriptors are then decoded after a single read, while large ones are still streamed through a buffer of bounded size.
+     */
+    static KryoBackedDecoder decoderFor(File descriptorFile) throws IOException {
+        int bufferSize = (int) Math.max(1, Math.min(descriptorFile.length(), MAX_READ_BUFFER_SIZE));
+        return new KryoBackedDecoder(new FileInputStream(descriptorFile), bufferSize);
+    }
+
     private String[] getFilePath(ModuleComponentAtRepositoryKey componentId) {
         ModuleComponentIdentifier moduleComponentIdentifier = componentId.getComponentId();
         return new String[] {
@@ -50,9 +50,10 @@ public PersistentModuleMetadataCache(BuildCommencedTimeProvider timeProvider,
                                          IvyMutableModuleMetadataFactory ivyMetadataFactory,
                                          Interner<String> stringInterner,
                                          ModuleSourcesSerializer moduleSourcesSerializer,
+                                         ModuleMetadataInterner moduleMetadataInterner,
                                          ChecksumService checksumService) {
         super(timeProvider);
-        moduleMetadataStore = new ModuleMetadataStore(new DefaultPathKeyFileStore(checksumService, artifactCacheMetadata.getMetaDataStoreDirectory()), new ModuleMetadataSerializer(attributeContainerSerializer, mavenMetadataFactory, ivyMetadataFactory, moduleSourcesSerializer), moduleIdentifierFactory, stringInterner);
+        moduleMetadataStore = new ModuleMetadataStore(new DefaultPathKeyFileStore(checksumService, artifactCacheMetadata.getMetaDataStoreDirectory()), new ModuleMetadataSerializer(attributeContainerSerializer, mavenMetadataFactory, ivyMetadataFactory, moduleSourcesSerializer, moduleMetadataInterner), moduleIdentifierFactory, stringInterner);
         this.artifactCacheLockingManager = cacheAccessCoordinator;
     }
 
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.DependencyGraphNode;
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.DependencyGraphVisitor;
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.RootGraphNode;
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.store.SelectedComponentsCache;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.operations.BuildOperationConstraint;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationExecutor;
+import org.gradle.internal.operations.RunnableBuildOperation;
+import org.gradle.internal.resolve.resolver.ComponentMetaDataResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Warms up the metadata of the components that were selected the last time a graph was resolved, and records the components selected by the current resolution.
+ *
+ * <p>The graph builder realizes the metadata of each component as it discovers it, one after the other.
+ * When the metadata is already available locally, this mostly means decoding cached descriptors and applying component metadata rules,
+ * which can be done up front and concurrently for the components that are very likely to be part of the graph again.
+ * Only components whose metadata can be fetched cheaply are warmed up, so this never reaches out to a repository.</p>
+ */
+public class SelectedComponentsPrefetcher implements DependencyGraphVisitor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SelectedComponentsPrefetcher.class);
+    private static final int COMPONENTS_PER_OPERATION = 64;
+
+    private final SelectedComponentsCache cache;
+    private final HashCode configurationKey;
+    private final HashCode inputsKey;
+    private final BuildOperationExecutor buildOperationExecutor;
+    private final List<ComponentIdentifier> previouslySelected;
+    private final Set<ComponentIdentifier> selected = new LinkedHashSet<>();
+
+    public SelectedComponentsPrefetcher(SelectedComponentsCache cache, HashCode configurationKey, HashCode inputsKey, BuildOperationExecutor buildOperationExecutor) {
+        this.cache = cache;
+        this.configurationKey = configurationKey;
+        this.inputsKey = inputsKey;
+        this.buildOperationExecutor = buildOperationExecutor;
+        List<ComponentIdentifier> previous = cache.get(configurationKey, inputsKey);
+        this.previouslySelected = previous == null ? ImmutableList.of() : previous;
+    }
+
+    /**
+     * Realizes the metadata of the previously selected components, in parallel.
+     */
+    public void prefetch(ComponentMetaDataResolver metaDataResolver) {
+        if (previouslySelected.size() <= 1) {
+            return;
+        }
+        LOGGER.debug("Prefetching metadata for {} previously selected components", previouslySelected.size());
+        buildOperationExecutor.runAll(queue -> {
+            for (List<ComponentIdentifier> components : Lists.partition(previouslySelected, COMPONENTS_PER_OPERATION)) {
+                queue.add(new PrefetchMetadataOperation(metaDataResolver, components));
+            }
+        }, BuildOperationConstraint.UNCONSTRAINED);
+    }
+
+    @Override
+    public void visitNode(DependencyGraphNode node) {
+        ComponentIdentifier componentId = node.getOwner().getComponentId();
+        if (componentId instanceof ModuleComponentIdentifier) {
+            selected.add(componentId);
+        }
+    }
+
+    @Override
+    public void finish(RootGraphNode root) {
+        List<ComponentIdentifier> components = ImmutableList.copyOf(selected);
+        if (!components.equals(previouslySelected)) {
+            cache.store(configurationKey, inputsKey, components);
+        }
+    }
+
+    private static class PrefetchMetadataOperation implements RunnableBuildOperation {
+        private final ComponentMetaDataResolver metaDataResolver;
+        private final List<ComponentIdentifier> components;
+
+        PrefetchMetadataOperation(ComponentMetaDataResolver metaDataResolver, List<ComponentIdentifier> components) {
+            this.metaDataResolver = metaDataResolver;
+            this.components = components;
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            for (ComponentIdentifier component : components) {
+                try {
+                    // Estimating the cost realizes and caches the metadata when it is available locally
+                    metaDataResolver.isFetchingMetadataCheap(component);
+                } catch (Exception e) {
+                    // The graph builder will report the failure if the component is still required
+                    LOGGER.debug("Could not prefetch metadata for {}", component, e);
+                }
+            }
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Prefetch metadata for " + components.size() + " components");
+        }
+    }
+}
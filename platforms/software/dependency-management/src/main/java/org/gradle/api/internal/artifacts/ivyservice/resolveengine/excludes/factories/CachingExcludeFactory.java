@@ -15,11 +15,11 @@
  */
 package org.gradle.api.internal.artifacts.ivyservice.resolveengine.excludes.factories;
 
-import com.google.common.collect.Maps;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.excludes.specs.ExcludeSpec;
 
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
 /**
@@ -142,9 +142,11 @@ public int hashCode() {
 
     /**
      * A shareable backing cache for different caching exclude factories.
-     * Synchronization is ad-hoc, since `computeIfAbsent` on a concurrent hash map
-     * will not allow for recursion, which is the case for us whenever a cache is
-     * found at different levels.
+     * The caches are shared by all resolutions of the build, which may run concurrently.
+     * `computeIfAbsent` on a concurrent hash map will not allow for recursion, which is the case
+     * for us whenever a cache is found at different levels, so values are computed outside of the map
+     * and the first stored value wins. Merge operations are deterministic, so concurrent computations
+     * of the same key produce equal values.
      */
     public static class MergeCaches {
         private final ConcurrentCache<ExcludePair, ExcludeSpec> allOfPairCache = ConcurrentCache.of();
@@ -170,22 +172,20 @@ ExcludeSpec getAllOf(ExcludesKey list, Function<ExcludesKey, ExcludeSpec> onMiss
     }
 
     private static class ConcurrentCache<K, V> {
-        private final Map<K, V> backingMap = Maps.newHashMap();
+        private final ConcurrentMap<K, V> backingMap = new ConcurrentHashMap<>();
 
         static <K, V> ConcurrentCache<K, V> of() {
             return new ConcurrentCache<>();
         }
 
         V computeIfAbsent(K key, Function<K, V> producer) {
-            synchronized (backingMap) {
-                V value = backingMap.get(key);
-                if (value != null) {
-                    return value;
-                }
-                value = producer.apply(key);
-                backingMap.put(key, value);
+            V value = backingMap.get(key);
+            if (value != null) {
                 return value;
             }
+            value = producer.apply(key);
+            V existing = backingMap.putIfAbsent(key, value);
+            return existing != null ? existing : value;
         }
     }
 }
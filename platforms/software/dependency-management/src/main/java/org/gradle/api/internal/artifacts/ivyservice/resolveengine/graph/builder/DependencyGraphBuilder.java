@@ -21,6 +21,7 @@
 import com.google.common.collect.Sets;
 import org.gradle.api.Action;
 import org.gradle.api.GradleException;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
 import org.gradle.api.artifacts.component.ComponentSelector;
 import org.gradle.api.artifacts.component.ModuleComponentSelector;
 import org.gradle.api.attributes.Attribute;
@@ -67,6 +68,7 @@
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -75,6 +77,18 @@
 
 public class DependencyGraphBuilder {
     private static final Logger LOGGER = LoggerFactory.getLogger(DependencyGraphBuilder.class);
+    /**
+     * The number of candidates from which their metadata fetching cost is estimated concurrently.
+     * Realizing the metadata of a single cached component costs about as much as handing an operation to the build operation queue
+     * and waiting for it, so below this there is too little work to share between workers.
+     */
+    private static final int PARALLEL_COST_ESTIMATION_THRESHOLD = 8;
+    /**
+     * The number of candidates whose metadata fetching cost is estimated by a single operation.
+     * Large enough for the work of an operation to outweigh its scheduling, small enough to spread the few dozen targets of a typical
+     * wide node over several workers. See MetadataFetchingCostEstimationBenchmark.
+     */
+    private static final int COMPONENTS_PER_COST_ESTIMATION = 16;
     private final ModuleConflictHandler moduleConflictHandler;
     private final Spec<? super DependencyMetadata> edgeFilter;
     private final DependencyToComponentIdResolver idResolver;
@@ -327,24 +341,26 @@ private void checkForModuleConflicts(ResolveState resolveState, ModuleResolveSta
      * It uses a simple heuristic to determine if we should perform concurrent resolution, based on the number of edges, and whether they have unresolved metadata.
      */
     private void maybeDownloadMetadataInParallel(NodeState node, List<EdgeState> dependencies, Spec<EdgeState> dependencyFilter) {
-        List<ComponentState> requiringDownload = null;
+        Set<ComponentState> unresolved = null;
         for (EdgeState dependency : dependencies) {
             if (!dependencyFilter.isSatisfiedBy(dependency)) {
                 continue;
             }
             ComponentState targetComponent = dependency.getTargetComponent();
             if (targetComponent != null && targetComponent.isSelected() && !targetComponent.alreadyResolved()) {
-                if (!metaDataResolver.isFetchingMetadataCheap(targetComponent.getComponentId())) {
-                    // Avoid initializing the list if there are no components requiring download (a common case)
-                    if (requiringDownload == null) {
-                        requiringDownload = Lists.newArrayList();
-                    }
-                    requiringDownload.add(targetComponent);
+                // Avoid initializing the set if there are no unresolved components (a common case)
+                if (unresolved == null) {
+                    unresolved = new LinkedHashSet<>();
                 }
+                unresolved.add(targetComponent);
             }
         }
         // Only download in parallel if there is more than 1 component to download
-        if (requiringDownload != null && requiringDownload.size() > 1) {
+        if (unresolved == null || unresolved.size() < 2) {
+            return;
+        }
+        List<ComponentState> requiringDownload = findComponentsRequiringDownload(node, ImmutableList.copyOf(unresolved));
+        if (requiringDownload.size() > 1) {
             final ImmutableList<ComponentState> toDownloadInParallel = ImmutableList.copyOf(requiringDownload);
             LOGGER.debug("Submitting {} metadata files to resolve in parallel for {}", toDownloadInParallel.size(), node);
             buildOperationExecutor.runAll(buildOperationQueue -> {
@@ -355,6 +371,39 @@ private void maybeDownloadMetadataInParallel(NodeState node, List<EdgeState> dep
         }
     }
 
+    /**
+     * Returns the components for which fetching the metadata is expensive, in the order of the given candidates.
+     * Estimating the cost realizes the metadata of components that are available locally, which means decoding the cached descriptor
+     * and applying component metadata rules. For nodes with many unresolved targets, this is done concurrently.
+     */
+    private List<ComponentState> findComponentsRequiringDownload(NodeState node, List<ComponentState> candidates) {
+        List<ComponentState> requiringDownload = Lists.newArrayList();
+        if (candidates.size() < PARALLEL_COST_ESTIMATION_THRESHOLD) {
+            for (ComponentState candidate : candidates) {
+                if (!metaDataResolver.isFetchingMetadataCheap(candidate.getComponentId())) {
+                    requiringDownload.add(candidate);
+                }
+            }
+            return requiringDownload;
+        }
+
+        LOGGER.debug("Estimating metadata fetching cost of {} components in parallel for {}", candidates.size(), node);
+        boolean[] expensive = new boolean[candidates.size()];
+        List<ComponentIdentifier> candidateIds = Lists.transform(candidates, ComponentState::getComponentId);
+        buildOperationExecutor.runAll(buildOperationQueue -> {
+            for (int start = 0; start < candidates.size(); start += COMPONENTS_PER_COST_ESTIMATION) {
+                int end = Math.min(start + COMPONENTS_PER_COST_ESTIMATION, candidates.size());
+                buildOperationQueue.add(new EstimateMetadataFetchingCostOperation(metaDataResolver, candidateIds, start, end, expensive));
+            }
+        }, BuildOperationConstraint.UNCONSTRAINED);
+        for (int i = 0; i < expensive.length; i++) {
+            if (expensive[i]) {
+                requiringDownload.add(candidates.get(i));
+            }
+        }
+        return requiringDownload;
+    }
+
     private void attachToTargetRevisionsSerially(List<EdgeState> dependencies, Spec<EdgeState> dependencyFilter) {
         // the following only needs to be done serially to preserve ordering of dependencies in the graph: we have visited the edges
         // but we still didn't add the result to the queue. Doing it from resolve threads would result in non-reproducible graphs, where
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.builder;
+
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.RunnableBuildOperation;
+import org.gradle.internal.resolve.resolver.ComponentMetaDataResolver;
+
+import java.util.List;
+
+/**
+ * Estimates the metadata fetching cost of a slice of components, recording the expensive ones in a shared array.
+ * Each operation writes a distinct range of the array.
+ */
+class EstimateMetadataFetchingCostOperation implements RunnableBuildOperation {
+    private final ComponentMetaDataResolver metaDataResolver;
+    private final List<? extends ComponentIdentifier> components;
+    private final int start;
+    private final int end;
+    private final boolean[] expensive;
+
+    EstimateMetadataFetchingCostOperation(ComponentMetaDataResolver metaDataResolver, List<? extends ComponentIdentifier> components, int start, int end, boolean[] expensive) {
+        this.metaDataResolver = metaDataResolver;
+        this.components = components;
+        this.start = start;
+        this.end = end;
+        this.expensive = expensive;
+    }
+
+    @Override
+    public void run(BuildOperationContext context) {
+        for (int i = start; i < end; i++) {
+            try {
+                expensive[i] = !metaDataResolver.isFetchingMetadataCheap(components.get(i));
+            } catch (Exception e) {
+                // Let the resolution of the component report the failure
+                expensive[i] = true;
+            }
+        }
+    }
+
+    @Override
+    public BuildOperationDescriptor.Builder description() {
+        return BuildOperationDescriptor.displayName("Estimate metadata fetching cost of " + (end - start) + " components");
+    }
+}
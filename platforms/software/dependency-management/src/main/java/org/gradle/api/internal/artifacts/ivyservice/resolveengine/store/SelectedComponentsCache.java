@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.store;
+
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.internal.artifacts.ivyservice.ArtifactCacheLockingAccessCoordinator;
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.result.ComponentIdentifierSerializer;
+import org.gradle.cache.IndexedCache;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.serialize.AbstractSerializer;
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+import org.gradle.internal.serialize.HashCodeSerializer;
+import org.gradle.internal.serialize.ListSerializer;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Remembers, across builds, which module components were selected the last time a graph was resolved.
+ *
+ * <p>The entries are only used as a hint of which metadata will be needed by the next resolution of the same graph,
+ * so a stale or missing entry never affects the result of a resolution.</p>
+ *
+ * <p>There is a single entry per resolved configuration, which is replaced whenever the inputs of its resolution change,
+ * so the cache does not grow when dependencies or repositories are edited. The number of components recorded per entry is bounded as well.</p>
+ */
+public class SelectedComponentsCache {
+    static final int MAX_COMPONENTS = 10_000;
+
+    private final ArtifactCacheLockingAccessCoordinator cacheAccessCoordinator;
+    private IndexedCache<HashCode, Entry> cache;
+
+    public SelectedComponentsCache(ArtifactCacheLockingAccessCoordinator cacheAccessCoordinator) {
+        this.cacheAccessCoordinator = cacheAccessCoordinator;
+    }
+
+    private synchronized IndexedCache<HashCode, Entry> getCache() {
+        if (cache == null) {
+            cache = cacheAccessCoordinator.createCache("selected-components", new HashCodeSerializer(), new EntrySerializer());
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the components selected by the previous resolution of the given configuration, or null if there is none or if it was resolved from different inputs.
+     */
+    @Nullable
+    public List<ComponentIdentifier> get(HashCode configurationKey, HashCode inputsKey) {
+        IndexedCache<HashCode, Entry> cache = getCache();
+        Entry entry = cacheAccessCoordinator.useCache(() -> cache.getIfPresent(configurationKey));
+        if (entry == null || !entry.inputsKey.equals(inputsKey)) {
+            return null;
+        }
+        return entry.components;
+    }
+
+    public void store(HashCode configurationKey, HashCode inputsKey, List<ComponentIdentifier> selectedComponents) {
+        List<ComponentIdentifier> components = selectedComponents.size() > MAX_COMPONENTS ? selectedComponents.subList(0, MAX_COMPONENTS) : selectedComponents;
+        IndexedCache<HashCode, Entry> cache = getCache();
+        cacheAccessCoordinator.useCache(() -> cache.put(configurationKey, new Entry(inputsKey, components)));
+    }
+
+    private static class Entry {
+        private final HashCode inputsKey;
+        private final List<ComponentIdentifier> components;
+
+        Entry(HashCode inputsKey, List<ComponentIdentifier> components) {
+            this.inputsKey = inputsKey;
+            this.components = components;
+        }
+    }
+
+    private static class EntrySerializer extends AbstractSerializer<Entry> {
+        private final HashCodeSerializer hashCodeSerializer = new HashCodeSerializer();
+        private final ListSerializer<ComponentIdentifier> componentsSerializer = new ListSerializer<>(new ComponentIdentifierSerializer());
+
+        @Override
+        public Entry read(Decoder decoder) throws Exception {
+            HashCode inputsKey = hashCodeSerializer.read(decoder);
+            List<ComponentIdentifier> components = componentsSerializer.read(decoder);
+            return new Entry(inputsKey, components);
+        }
+
+        @Override
+        public void write(Encoder encoder, Entry value) throws Exception {
+            hashCodeSerializer.write(encoder, value.inputsKey);
+            componentsSerializer.write(encoder, value.components);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.transform;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
+import org.gradle.internal.execution.InputFingerprinter;
+import org.gradle.internal.execution.UnitOfWork.InputFileValueSupplier;
+import org.gradle.internal.execution.UnitOfWork.InputVisitor;
+import org.gradle.internal.fingerprint.CurrentFileCollectionFingerprint;
+import org.gradle.internal.fingerprint.FileCollectionFingerprint;
+import org.gradle.internal.properties.InputBehavior;
+import org.gradle.internal.snapshot.ValueSnapshot;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.function.Consumer;
+
+import static org.gradle.api.internal.artifacts.transform.AbstractTransformExecution.DEPENDENCIES_PROPERTY_NAME;
+
+/**
+ * Fingerprints the inputs of the executions of a transform on a batch of input artifacts that share the same artifact dependencies.
+ * <p>
+ * The artifact dependencies are fingerprinted the first time they are requested only,
+ * the executions fingerprinted afterwards reuse that fingerprint.
+ * Each execution still has its own identity, and so is cached separately.
+ * <p>
+ * A batch is the set of files of a single {@link TransformStepSubject}. The files of an external component variant are
+ * usually transformed one file per subject, so this only saves work for subjects with several files, such as the outputs
+ * of a project or of a previous transform step.
+ */
+@NotThreadSafe
+class BatchInputFingerprinter implements InputFingerprinter {
+    private final InputFingerprinter delegate;
+    @Nullable
+    private CurrentFileCollectionFingerprint dependenciesFingerprint;
+
+    public BatchInputFingerprinter(InputFingerprinter delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Result fingerprintInputProperties(
+        ImmutableSortedMap<String, ValueSnapshot> previousValueSnapshots,
+        ImmutableSortedMap<String, ? extends FileCollectionFingerprint> previousFingerprints,
+        ImmutableSortedMap<String, ValueSnapshot> knownCurrentValueSnapshots,
+        ImmutableSortedMap<String, CurrentFileCollectionFingerprint> knownCurrentFingerprints,
+        Consumer<InputVisitor> inputs
+    ) {
+        if (knownCurrentFingerprints.containsKey(DEPENDENCIES_PROPERTY_NAME) || !visitsDependencies(inputs)) {
+            return delegate.fingerprintInputProperties(previousValueSnapshots, previousFingerprints, knownCurrentValueSnapshots, knownCurrentFingerprints, inputs);
+        }
+        if (dependenciesFingerprint == null) {
+            Result result = delegate.fingerprintInputProperties(previousValueSnapshots, previousFingerprints, knownCurrentValueSnapshots, knownCurrentFingerprints, inputs);
+            dependenciesFingerprint = result.getFileFingerprints().get(DEPENDENCIES_PROPERTY_NAME);
+            return result;
+        }
+        Result result = delegate.fingerprintInputProperties(
+            previousValueSnapshots,
+            previousFingerprints,
+            knownCurrentValueSnapshots,
+            ImmutableSortedMap.<String, CurrentFileCollectionFingerprint>naturalOrder()
+                .putAll(knownCurrentFingerprints)
+                .put(DEPENDENCIES_PROPERTY_NAME, dependenciesFingerprint)
+                .build(),
+            inputs
+        );
+        return new ResultWithDependencies(result, dependenciesFingerprint);
+    }
+
+    /**
+     * Whether the given inputs include the artifact dependencies. Visiting the inputs does not fingerprint them, the values are supplied lazily.
+     */
+    private static boolean visitsDependencies(Consumer<InputVisitor> inputs) {
+        DependenciesDetector detector = new DependenciesDetector();
+        inputs.accept(detector);
+        return detector.visited;
+    }
+
+    private static class DependenciesDetector implements InputVisitor {
+        private boolean visited;
+
+        @Override
+        public void visitInputFileProperty(String propertyName, InputBehavior behavior, InputFileValueSupplier value) {
+            if (propertyName.equals(DEPENDENCIES_PROPERTY_NAME)) {
+                visited = true;
+            }
+        }
+    }
+
+    /**
+     * Reports the reused fingerprint of the dependencies as fingerprinted just now, like the other identity inputs.
+     */
+    private static class ResultWithDependencies implements Result {
+        private final Result delegate;
+        private final CurrentFileCollectionFingerprint dependenciesFingerprint;
+        private ImmutableSortedMap<String, CurrentFileCollectionFingerprint> fileFingerprints;
+
+        public ResultWithDependencies(Result delegate, CurrentFileCollectionFingerprint dependenciesFingerprint) {
+            this.delegate = delegate;
+            this.dependenciesFingerprint = dependenciesFingerprint;
+        }
+
+        @Override
+        public ImmutableSortedMap<String, ValueSnapshot> getValueSnapshots() {
+            return delegate.getValueSnapshots();
+        }
+
+        @Override
+        public ImmutableSortedMap<String, ValueSnapshot> getAllValueSnapshots() {
+            return delegate.getAllValueSnapshots();
+        }
+
+        @Override
+        public ImmutableSortedMap<String, CurrentFileCollectionFingerprint> getFileFingerprints() {
+            if (fileFingerprints == null) {
+                fileFingerprints = ImmutableSortedMap.<String, CurrentFileCollectionFingerprint>naturalOrder()
+                    .putAll(delegate.getFileFingerprints())
+                    .put(DEPENDENCIES_PROPERTY_NAME, dependenciesFingerprint)
+                    .build();
+            }
+            return fileFingerprints;
+        }
+
+        @Override
+        public ImmutableSortedMap<String, CurrentFileCollectionFingerprint> getAllFileFingerprints() {
+            // Already includes the fingerprint of the dependencies, as it was known to the delegate
+            return delegate.getAllFileFingerprints();
+        }
+
+        @Override
+        public ImmutableSet<String> getPropertiesRequiringIsEmptyCheck() {
+            return delegate.getPropertiesRequiringIsEmptyCheck();
+        }
+    }
+}
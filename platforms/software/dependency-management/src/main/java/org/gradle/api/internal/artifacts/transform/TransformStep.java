@@ -33,6 +33,8 @@
 
 import javax.annotation.Nullable;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A single transform step in a transform chain.
@@ -92,11 +94,16 @@ public Deferrable<Try<TransformStepSubject>> createInvocation(TransformStepSubje
     }
 
     private Try<TransformStepSubject> doTransform(TransformStepSubject subjectToTransform, InputFingerprinter inputFingerprinter, TransformDependencies dependencies, ImmutableList<File> inputArtifacts) {
-        ImmutableList.Builder<File> builder = ImmutableList.builder();
+        // Identify the whole batch first, sharing the fingerprint of the dependencies, then execute the invocations that are not cached yet
+        InputFingerprinter batchInputFingerprinter = new BatchInputFingerprinter(inputFingerprinter);
+        List<Deferrable<Try<ImmutableList<File>>>> invocations = new ArrayList<>(inputArtifacts.size());
         for (File inputArtifact : inputArtifacts) {
-            Try<ImmutableList<File>> result = transformInvocationFactory
-                .createInvocation(transform, inputArtifact, dependencies, subjectToTransform, inputFingerprinter)
-                .completeAndGet();
+            invocations.add(transformInvocationFactory.createInvocation(transform, inputArtifact, dependencies, subjectToTransform, batchInputFingerprinter));
+        }
+
+        ImmutableList.Builder<File> builder = ImmutableList.builder();
+        for (Deferrable<Try<ImmutableList<File>>> invocation : invocations) {
+            Try<ImmutableList<File>> result = invocation.completeAndGet();
 
             if (result.getFailure().isPresent()) {
                 return Cast.uncheckedCast(result);
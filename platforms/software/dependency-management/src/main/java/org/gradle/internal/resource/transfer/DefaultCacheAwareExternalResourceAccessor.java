@@ -16,6 +16,7 @@
 
 package org.gradle.internal.resource.transfer;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Files;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
@@ -47,6 +48,7 @@
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 public class DefaultCacheAwareExternalResourceAccessor implements CacheAwareExternalResourceAccessor {
 
@@ -61,8 +63,9 @@ public class DefaultCacheAwareExternalResourceAccessor implements CacheAwareExte
     private final ProducerGuard<ExternalResourceName> producerGuard;
     private final FileResourceRepository fileResourceRepository;
     private final ChecksumService checksumService;
+    private final boolean verifyingChecksums;
 
-    public DefaultCacheAwareExternalResourceAccessor(ExternalResourceRepository delegate, CachedExternalResourceIndex<String> cachedExternalResourceIndex, BuildCommencedTimeProvider timeProvider, TemporaryFileProvider temporaryFileProvider, ArtifactCacheLockingAccessCoordinator cacheAccessCoordinator, ExternalResourceCachePolicy externalResourceCachePolicy, ProducerGuard<ExternalResourceName> producerGuard, FileResourceRepository fileResourceRepository, ChecksumService checksumService) {
+    public DefaultCacheAwareExternalResourceAccessor(ExternalResourceRepository delegate, CachedExternalResourceIndex<String> cachedExternalResourceIndex, BuildCommencedTimeProvider timeProvider, TemporaryFileProvider temporaryFileProvider, ArtifactCacheLockingAccessCoordinator cacheAccessCoordinator, ExternalResourceCachePolicy externalResourceCachePolicy, ProducerGuard<ExternalResourceName> producerGuard, FileResourceRepository fileResourceRepository, ChecksumService checksumService, boolean verifyingChecksums) {
         this.delegate = delegate;
         this.cachedExternalResourceIndex = cachedExternalResourceIndex;
         this.timeProvider = timeProvider;
@@ -72,6 +75,7 @@ public DefaultCacheAwareExternalResourceAccessor(ExternalResourceRepository dele
         this.producerGuard = producerGuard;
         this.fileResourceRepository = fileResourceRepository;
         this.checksumService = checksumService;
+        this.verifyingChecksums = verifyingChecksums;
     }
 
     @Nullable
@@ -175,7 +179,7 @@ private LocallyAvailableExternalResource copyCandidateToCache(ExternalResourceNa
             if (!localChecksum.equals(remoteChecksum)) {
                 return null;
             }
-            return moveIntoCache(source, destination, fileStore, remoteMetaData);
+            return moveIntoCache(source, destination, fileStore, remoteMetaData, ImmutableMap.of());
         } finally {
             destination.delete();
         }
@@ -184,24 +188,32 @@ private LocallyAvailableExternalResource copyCandidateToCache(ExternalResourceNa
     @Nullable
     private LocallyAvailableExternalResource copyToCache(final ExternalResourceName source, final ResourceFileStore fileStore, final ExternalResource resource) {
         // Download to temporary location
-        DownloadAction downloadAction = new DownloadAction(source, temporaryFileProvider, LOGGER);
+        DownloadAction downloadAction = new DownloadAction(source, temporaryFileProvider, LOGGER, verifyingChecksums);
         resource.withContentIfPresent(downloadAction);
         if (downloadAction.getMetaData() == null) {
             return null;
         }
 
         // Move into cache
+        File destination = downloadAction.getDestination();
         try {
-            return moveIntoCache(source, downloadAction.getDestination(), fileStore, downloadAction.getMetaData());
+            // The file store hashes the downloaded file to find its location
+            checksumService.recordChecksums(destination, downloadAction.getChecksums());
+            return moveIntoCache(source, destination, fileStore, downloadAction.getMetaData(), downloadAction.getChecksums());
         } finally {
-            downloadAction.getDestination().delete();
+            checksumService.discardRecordedChecksums(destination);
+            destination.delete();
         }
     }
 
-    private LocallyAvailableExternalResource moveIntoCache(final ExternalResourceName source, final File destination, final ResourceFileStore fileStore, final ExternalResourceMetaData metaData) {
+    private LocallyAvailableExternalResource moveIntoCache(final ExternalResourceName source, final File destination, final ResourceFileStore fileStore, final ExternalResourceMetaData metaData, Map<String, HashCode> checksums) {
         return cacheAccessCoordinator.useCache(() -> {
             LocallyAvailableResource cachedResource = fileStore.moveIntoCache(destination);
             File fileInFileStore = cachedResource.getFile();
+            if (!checksums.isEmpty()) {
+                // Moving the file keeps its length and timestamp, so the checksums computed while downloading it remain valid
+                checksumService.recordChecksums(fileInFileStore, checksums);
+            }
             cachedExternalResourceIndex.store(source.toString(), fileInFileStore, metaData);
             return fileResourceRepository.resource(fileInFileStore, source.getUri(), metaData);
         });
@@ -16,8 +16,12 @@
 
 package org.gradle.internal.resource.transfer;
 
+import com.google.common.collect.ImmutableMap;
 import org.apache.commons.io.IOUtils;
 import org.gradle.api.internal.file.temp.TemporaryFileProvider;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hashing;
+import org.gradle.internal.hash.HashingOutputStream;
 import org.gradle.internal.resource.ExternalResource;
 import org.gradle.internal.resource.ExternalResourceName;
 import org.gradle.internal.resource.metadata.ExternalResourceMetaData;
@@ -30,19 +34,29 @@
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
 
+/**
+ * Downloads a resource to a temporary file.
+ *
+ * The SHA-1 checksum of the content is computed while it is written, as the file is hashed with this algorithm by the file stores
+ * once it is downloaded. The SHA-256 checksum is also computed when dependency verification will hash the file.
+ */
 public class DownloadAction implements ExternalResource.ContentAndMetadataAction<Object> {
     private File destination;
     private ExternalResourceMetaData metaData;
+    private Map<String, HashCode> checksums = ImmutableMap.of();
     private final ExternalResourceName source;
     private final TemporaryFileProvider temporaryFileProvider;
     @Nullable
     private final Logger logger;
+    private final boolean computeSha256;
 
-    public DownloadAction(ExternalResourceName source, TemporaryFileProvider temporaryFileProvider, @Nullable Logger logger) {
+    public DownloadAction(ExternalResourceName source, TemporaryFileProvider temporaryFileProvider, @Nullable Logger logger, boolean computeSha256) {
         this.source = source;
         this.temporaryFileProvider = temporaryFileProvider;
         this.logger = logger;
+        this.computeSha256 = computeSha256;
     }
 
     @Override
@@ -56,11 +70,27 @@ public Object execute(InputStream inputStream, ExternalResourceMetaData metaData
             GFileUtils.mkdirs(destination.getParentFile());
         }
         try (FileOutputStream outputStream = new FileOutputStream(destination)) {
-            IOUtils.copyLarge(inputStream, outputStream);
+            if (computeSha256) {
+                HashingOutputStream sha256 = new HashingOutputStream(Hashing.sha256(), outputStream);
+                HashingOutputStream sha1 = new HashingOutputStream(Hashing.sha1(), sha256);
+                IOUtils.copyLarge(inputStream, sha1);
+                checksums = ImmutableMap.of("sha1", sha1.hash(), "sha256", sha256.hash());
+            } else {
+                HashingOutputStream sha1 = new HashingOutputStream(Hashing.sha1(), outputStream);
+                IOUtils.copyLarge(inputStream, sha1);
+                checksums = ImmutableMap.of("sha1", sha1.hash());
+            }
         }
         return null;
     }
 
+    /**
+     * Returns the checksums of the downloaded content, by algorithm.
+     */
+    public Map<String, HashCode> getChecksums() {
+        return checksums;
+    }
+
     @Nonnull
     public File getDestination() {
         return destination;
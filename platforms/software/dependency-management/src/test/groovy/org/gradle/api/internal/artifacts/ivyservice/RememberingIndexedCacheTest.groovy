@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice
+
+import org.gradle.cache.IndexedCache
+import spock.lang.Specification
+
+class RememberingIndexedCacheTest extends Specification {
+    def delegate = Mock(IndexedCache)
+
+    def "remembers entries found in the index"() {
+        def cache = new RememberingIndexedCache<String, String>(delegate, 10)
+
+        when:
+        def first = cache.getIfPresent("key")
+        def second = cache.getIfPresent("key")
+
+        then:
+        first == "value"
+        second == "value"
+        1 * delegate.getIfPresent("key") >> "value"
+        0 * delegate._
+    }
+
+    def "does not remember entries missing from the index"() {
+        def cache = new RememberingIndexedCache<String, String>(delegate, 10)
+
+        when:
+        def missing = cache.getIfPresent("key")
+
+        then:
+        missing == null
+        1 * delegate.getIfPresent("key") >> null
+
+        when:
+        def added = cache.getIfPresent("key")
+
+        then:
+        added == "value"
+        1 * delegate.getIfPresent("key") >> "value"
+        cache.size() == 1
+    }
+
+    def "produces missing entries without storing them in the index"() {
+        def cache = new RememberingIndexedCache<String, String>(delegate, 10)
+
+        when:
+        def value = cache.get("key") { "produced" }
+
+        then:
+        value == "produced"
+        1 * delegate.getIfPresent("key") >> null
+        0 * delegate._
+        cache.size() == 0
+    }
+
+    def "remembers a bounded number of entries"() {
+        def cache = new RememberingIndexedCache<String, String>(delegate, 2)
+        delegate.getIfPresent(_) >> { String key -> "value of $key".toString() }
+
+        when:
+        ["a", "b", "c", "d"].each { cache.getIfPresent(it) }
+
+        then:
+        cache.size() == 2
+
+        when:
+        def value = cache.getIfPresent("a")
+
+        then:
+        value == "value of a"
+    }
+}
@@ -332,6 +332,86 @@ class RepositoryChainComponentMetaDataResolverTest extends Specification {
         0 * result._
     }
 
+    def "searches remotely last in repositories known not to host the group"() {
+        given:
+        def presenceIndex = Mock(RepositoryGroupPresenceIndex)
+        def resolver = new RepositoryChainComponentMetaDataResolver(componentSelectionStrategy, presenceIndex)
+        resolver.add(Stub(ModuleComponentRepository) {
+            getLocalAccess() >> localAccess
+            getRemoteAccess() >> remoteAccess
+            getName() >> "repo1"
+            getId() >> "id1"
+        })
+        resolver.add(Stub(ModuleComponentRepository) {
+            getLocalAccess() >> localAccess2
+            getRemoteAccess() >> remoteAccess2
+            getName() >> "repo2"
+            getId() >> "id2"
+        })
+
+        when:
+        resolver.resolve(moduleComponentId, componentRequestMetaData, result)
+
+        then:
+        1 * localAccess.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _)
+        1 * localAccess2.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _)
+        _ * presenceIndex.isEnabled() >> true
+        1 * presenceIndex.isKnownMissing("id1", "group") >> true
+        1 * presenceIndex.isKnownMissing("id2", "group") >> false
+
+        then:
+        1 * remoteAccess2.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _) >> { id, meta, result ->
+            result.resolved(componentState)
+        }
+        1 * presenceIndex.recordHosted("id2", "group")
+        1 * result.resolved(_, _) >> { ComponentGraphResolveState state, ComponentGraphSpecificResolveState graphState ->
+            assert graphState.repositoryName == "repo2"
+        }
+
+        and:
+        0 * remoteAccess._
+        0 * presenceIndex._
+        0 * result._
+    }
+
+    def "searches repositories known not to host the group when no other repository has the module"() {
+        given:
+        def presenceIndex = Mock(RepositoryGroupPresenceIndex)
+        def resolver = new RepositoryChainComponentMetaDataResolver(componentSelectionStrategy, presenceIndex)
+        resolver.add(Stub(ModuleComponentRepository) {
+            getLocalAccess() >> localAccess
+            getRemoteAccess() >> remoteAccess
+            getName() >> "repo1"
+            getId() >> "id1"
+        })
+        resolver.add(Stub(ModuleComponentRepository) {
+            getLocalAccess() >> localAccess2
+            getRemoteAccess() >> remoteAccess2
+            getName() >> "repo2"
+            getId() >> "id2"
+        })
+        presenceIndex.isEnabled() >> true
+        presenceIndex.isKnownMissing("id1", "group") >> true
+
+        when:
+        resolver.resolve(moduleComponentId, componentRequestMetaData, result)
+
+        then:
+        1 * remoteAccess2.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _) >> { id, meta, result ->
+            result.missing()
+        }
+        1 * presenceIndex.recordMissing("id2", "group")
+
+        then:
+        1 * remoteAccess.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _) >> { id, meta, result ->
+            result.resolved(componentState)
+        }
+        1 * presenceIndex.recordHosted("id1", "group")
+        1 * result.resolved(_, _) >> { ComponentGraphResolveState state, ComponentGraphSpecificResolveState graphState ->
+            assert graphState.repositoryName == "repo1"
+        }
+    }
+
     def "does not attempt to resolve remote dependency when local dependency is missing"() {
         given:
         def repo1 = addRepo1()
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve
+
+import org.gradle.api.internal.artifacts.ivyservice.ArtifactCacheLockingAccessCoordinator
+import org.gradle.api.internal.artifacts.ivyservice.ArtifactCacheLockingAccessCoordinatorStub
+import org.gradle.cache.IndexedCache
+import org.gradle.internal.Factory
+import org.gradle.util.internal.BuildCommencedTimeProvider
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class RepositoryGroupPresenceIndexTest extends Specification {
+    def cacheAccessCoordinator = new ArtifactCacheLockingAccessCoordinatorStub()
+    def now = 1000L
+    def timeProvider = Stub(BuildCommencedTimeProvider) {
+        getCurrentTime() >> { now }
+    }
+
+    def "repository is known to be missing a group after several misses"() {
+        def index = newIndex()
+
+        when:
+        2.times { index.recordMissing("repo", "org.foo") }
+
+        then:
+        !index.isKnownMissing("repo", "org.foo")
+
+        when:
+        index.recordMissing("repo", "org.foo")
+
+        then:
+        index.isKnownMissing("repo", "org.foo")
+        !index.isKnownMissing("other", "org.foo")
+        !index.isKnownMissing("repo", "org.bar")
+    }
+
+    def "repository that hosted a group is never known to be missing it"() {
+        def index = newIndex()
+
+        when:
+        index.recordHosted("repo", "org.foo")
+        3.times { index.recordMissing("repo", "org.foo") }
+
+        then:
+        !index.isKnownMissing("repo", "org.foo")
+    }
+
+    def "entries are persisted"() {
+        when:
+        def index = newIndex()
+        3.times { index.recordMissing("repo", "org.foo") }
+
+        then:
+        cacheAccessCoordinator.getCache("repository-group-presence").getIfPresent("repo:org.foo") != null
+    }
+
+    def "reads and writes the persistent cache while holding the cache lock"() {
+        def persistentCache = Mock(IndexedCache)
+        def coordinator = Mock(ArtifactCacheLockingAccessCoordinator)
+        def index = new RepositoryGroupPresenceIndex(coordinator, timeProvider, true)
+
+        when:
+        index.recordMissing("repo", "org.foo")
+
+        then:
+        1 * coordinator.createCache("repository-group-presence", _, _) >> persistentCache
+        1 * coordinator.useCache(_ as Factory) >> { Factory action -> action.create() }
+        1 * persistentCache.getIfPresent("repo:org.foo") >> null
+
+        then:
+        1 * coordinator.useCache(_ as Runnable) >> { Runnable action -> action.run() }
+        1 * persistentCache.put("repo:org.foo", _)
+        0 * _
+
+        when:
+        index.isKnownMissing("repo", "org.foo")
+
+        then:
+        0 * _
+    }
+
+    def "missing entries expire"() {
+        def index = newIndex()
+        3.times { index.recordMissing("repo", "org.foo") }
+
+        when:
+        now += TimeUnit.DAYS.toMillis(2)
+
+        then:
+        !index.isKnownMissing("repo", "org.foo")
+    }
+
+    def "disabled index knows nothing"() {
+        def index = new RepositoryGroupPresenceIndex(cacheAccessCoordinator, timeProvider, false)
+
+        when:
+        3.times { index.recordMissing("repo", "org.foo") }
+
+        then:
+        !index.isKnownMissing("repo", "org.foo")
+        cacheAccessCoordinator.getCache("repository-group-presence") == null
+    }
+
+    private RepositoryGroupPresenceIndex newIndex() {
+        new RepositoryGroupPresenceIndex(cacheAccessCoordinator, timeProvider, true)
+    }
+}
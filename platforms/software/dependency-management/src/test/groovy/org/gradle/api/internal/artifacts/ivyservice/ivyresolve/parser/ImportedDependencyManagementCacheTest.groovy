@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser
+
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.data.MavenDependencyKey
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.data.PomDependencyMgt
+import org.gradle.api.internal.file.TestFiles
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+import static org.gradle.api.internal.component.ArtifactType.MAVEN_POM
+
+class ImportedDependencyManagementCacheTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+    def fileRepository = TestFiles.fileRepository()
+    def parseContext = Mock(DescriptorParseContext)
+    def parentId = DefaultModuleComponentIdentifier.newId(DefaultModuleIdentifier.newId("org", "parent"), "1.0")
+    def cache = new ImportedDependencyManagementCache()
+    def bom = tmpDir.file("bom.pom").createFile()
+    def parent = tmpDir.file("parent.pom").createFile()
+    def parses = 0
+
+    def "reuses dependency management while the POMs it was parsed from are unchanged"() {
+        when:
+        def first = getOrParse()
+        def second = getOrParse()
+
+        then:
+        parses == 1
+        2 * parseContext.getMetaDataArtifact(parentId, MAVEN_POM) >> fileRepository.resource(parent)
+        second.is(first)
+        def dependencyMgt = second.values().first()
+        dependencyMgt.groupId == "org"
+        dependencyMgt.artifactId == "lib"
+        dependencyMgt.version == "1.2"
+        dependencyMgt.excludedModules == [DefaultModuleIdentifier.newId("org", "excluded")]
+    }
+
+    def "parses again when a POM resolved while parsing resolves to another file"() {
+        def otherParent = tmpDir.file("other-parent.pom").createFile()
+
+        when:
+        getOrParse()
+        getOrParse()
+
+        then:
+        parses == 2
+        3 * parseContext.getMetaDataArtifact(parentId, MAVEN_POM) >>> [fileRepository.resource(parent), fileRepository.resource(otherParent), fileRepository.resource(otherParent)]
+    }
+
+    def "parses again when the imported POM has changed"() {
+        parseContext.getMetaDataArtifact(parentId, MAVEN_POM) >> fileRepository.resource(parent)
+
+        when:
+        getOrParse()
+        bom.text = "<project/>"
+        getOrParse()
+
+        then:
+        parses == 2
+    }
+
+    private Map<MavenDependencyKey, PomDependencyMgt> getOrParse() {
+        cache.getOrParse(fileRepository.resource(bom), parseContext) { context ->
+            parses++
+            context.getMetaDataArtifact(parentId, MAVEN_POM)
+            def dependencyMgt = Stub(PomDependencyMgt) {
+                getId() >> new MavenDependencyKey("org", "lib", "jar", null)
+                getGroupId() >> "org"
+                getArtifactId() >> "lib"
+                getVersion() >> "1.2"
+                getType() >> "jar"
+                getExcludedModules() >> [DefaultModuleIdentifier.newId("org", "excluded")]
+            }
+            [(dependencyMgt.id): dependencyMgt]
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.gradle.api.internal.artifacts.ImmutableModuleIdentifierFactory
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.DescriptorParseContext
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.GradleModuleMetadataParser
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.GradlePomModuleDescriptorParser
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.ImportedDependencyManagementCache
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.IvyModuleDescriptorConverter
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.IvyXmlModuleDescriptorParser
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.MetaDataParser
@@ -94,6 +95,21 @@ class ModuleMetadataSerializerTest extends Specification {
 
     }
 
+    def "components read separately share their dependency declarations"() {
+        given:
+        def pom = sampleFiles().find { it.parentFile.name == 'pom' && !parsePom(it).dependencies.empty }
+        def bytes = serialize(parse(pom))
+
+        when:
+        def first = deserialize(bytes) as MutableMavenModuleResolveMetadata
+        def second = deserialize(bytes) as MutableMavenModuleResolveMetadata
+
+        then:
+        !first.is(second)
+        first.dependencies.size() == second.dependencies.size()
+        [first.dependencies, second.dependencies].transpose().every { a, b -> a.is(b) }
+    }
+
     private MutableModuleComponentResolveMetadata deserialize(byte[] serializedForm) {
         serializer.read(new InputStreamBackedDecoder(new ByteArrayInputStream(serializedForm)), moduleIdentifierFactory, Maps.newHashMap())
     }
@@ -158,7 +174,8 @@ class ModuleMetadataSerializerTest extends Specification {
                 new DesugaredAttributeContainerSerializer(AttributeTestUtil.attributesFactory(), TestUtil.objectInstantiator()),
                 mavenMetadataFactory,
                 ivyMetadataFactory,
-                new ModuleSourcesSerializer([:])
+                new ModuleSourcesSerializer([:]),
+                new ModuleMetadataInterner()
         )
     }
 
@@ -167,7 +184,8 @@ class ModuleMetadataSerializerTest extends Specification {
             new MavenVersionSelectorScheme(new DefaultVersionSelectorScheme(new DefaultVersionComparator(), new VersionParser())),
             moduleIdentifierFactory,
             Stub(FileResourceRepository),
-            mavenMetadataFactory
+            mavenMetadataFactory,
+            new ImportedDependencyManagementCache()
         )
     }
 
@@ -72,8 +72,10 @@ import org.gradle.internal.component.model.IvyArtifactName
 import org.gradle.internal.component.model.LocalComponentDependencyMetadata
 import org.gradle.internal.component.model.LocalOriginDependencyMetadata
 import org.gradle.internal.model.CalculatedValue
+import org.gradle.internal.operations.BuildOperationConstraint
 import org.gradle.internal.operations.BuildOperationExecutor
 import org.gradle.internal.operations.BuildOperationQueue
+import org.gradle.internal.operations.RunnableBuildOperation
 import org.gradle.internal.resolve.ModuleVersionNotFoundException
 import org.gradle.internal.resolve.ModuleVersionResolveException
 import org.gradle.internal.resolve.resolver.ComponentMetaDataResolver
@@ -137,7 +139,11 @@ class DependencyGraphBuilderTest extends Specification {
         _ * rootComponent.getRootComponent() >> rootComponentState
         _ * rootComponent.getRootVariant() >> rootComponentState.getConfiguration('root').asVariant()
 
-        builder = new DependencyGraphBuilder(idResolver, metaDataResolver, moduleConflictHandler, capabilitiesConflictHandler, Specs.satisfyAll(), attributesSchema, moduleExclusions, buildOperationProcessor, dependencySubstitutionApplicator, componentSelectorConverter, AttributeTestUtil.attributesFactory(), desugaring, versionSelectorScheme, versionComparator.asVersionComparator(), new ComponentIdGenerator(), new VersionParser(), variantSelector)
+        builder = newBuilder(buildOperationProcessor)
+    }
+
+    private DependencyGraphBuilder newBuilder(BuildOperationExecutor buildOperationExecutor) {
+        return new DependencyGraphBuilder(idResolver, metaDataResolver, moduleConflictHandler, capabilitiesConflictHandler, Specs.satisfyAll(), attributesSchema, moduleExclusions, buildOperationExecutor, dependencySubstitutionApplicator, componentSelectorConverter, AttributeTestUtil.attributesFactory(), desugaring, versionSelectorScheme, versionComparator.asVersionComparator(), new ComponentIdGenerator(), new VersionParser(), variantSelector)
     }
 
     private TestGraphVisitor resolve(DependencyGraphBuilder builder = this.builder) {
@@ -164,6 +170,58 @@ class DependencyGraphBuilderTest extends Specification {
         result.components == ids(root, a, b, c)
     }
 
+    def "estimates the metadata fetching cost of many unresolved components in parallel"() {
+        given:
+        def operations = []
+        def builder = newBuilder(recordingBuildOperationExecutor(operations))
+        def modules = (0..<20).collect { revision("m$it") }
+        modules.each { traverses root, it }
+        // A second edge to an already targeted component
+        def duplicate = dependsOn(root, modules[3].moduleVersionId)
+        _ * idResolver.resolve(duplicate, _, _, _) >> { DependencyMetadata dep, VersionSelector acceptor, VersionSelector rejector, BuildableComponentIdResolveResult result ->
+            result.resolved(modules[3].id, modules[3].moduleVersionId)
+        }
+        def estimated = []
+        _ * metaDataResolver.isFetchingMetadataCheap(_) >> { ComponentIdentifier id ->
+            estimated << id
+            if (id == modules[12].id) {
+                throw new RuntimeException("broken")
+            }
+            return modules.findIndexOf { it.id == id } % 2 == 0
+        }
+
+        when:
+        def result = resolve(builder)
+        result.rethrowFailure()
+
+        then:
+        estimated.size() == modules.size()
+        estimated as Set == modules.collect { it.id } as Set
+        operations.collect { it.description().build().displayName }.findAll { it.startsWith("Estimate") } == [
+            "Estimate metadata fetching cost of 16 components",
+            "Estimate metadata fetching cost of 4 components"
+        ]
+        operations.collect { it.description().build().displayName }.findAll { it.startsWith("Resolve") } == [1, 3, 5, 7, 9, 11, 12, 13, 15, 17, 19].collect { "Resolve group:m$it:1.0" }
+        result.components == ids(root, *modules)
+    }
+
+    def "estimates the metadata fetching cost of few unresolved components serially"() {
+        given:
+        def operations = []
+        def builder = newBuilder(recordingBuildOperationExecutor(operations))
+        def modules = (0..<3).collect { revision("m$it") }
+        modules.each { traverses root, it }
+        3 * metaDataResolver.isFetchingMetadataCheap(_) >> { ComponentIdentifier id -> id != modules[0].id }
+
+        when:
+        def result = resolve(builder)
+        result.rethrowFailure()
+
+        then:
+        operations.empty
+        result.components == ids(root, *modules)
+    }
+
     def "honors component replacements"() {
         given:
         def a = revision('a') // a->c
@@ -1031,6 +1089,19 @@ class DependencyGraphBuilderTest extends Specification {
         result.components == ids(root, forced, b)
     }
 
+    private static BuildOperationExecutor recordingBuildOperationExecutor(List<RunnableBuildOperation> operations) {
+        return Stub(BuildOperationExecutor) {
+            runAll(_, _) >> { Action<BuildOperationQueue<RunnableBuildOperation>> action, BuildOperationConstraint constraint ->
+                def queued = []
+                action.execute(Stub(BuildOperationQueue) {
+                    add(_) >> { RunnableBuildOperation operation -> queued << operation }
+                })
+                queued.each { it.run(null) }
+                operations.addAll(queued)
+            }
+        }
+    }
+
     def revision(String name, String revision = '1.0') {
         // TODO Shouldn't really be using the local component implementation here
         def id = newId("group", name, revision)
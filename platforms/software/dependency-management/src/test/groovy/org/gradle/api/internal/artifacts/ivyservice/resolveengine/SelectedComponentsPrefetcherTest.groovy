@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine
+
+import org.gradle.api.artifacts.component.ComponentIdentifier
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.DependencyGraphComponent
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.DependencyGraphNode
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.RootGraphNode
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.store.SelectedComponentsCache
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier
+import org.gradle.internal.hash.TestHashCodes
+import org.gradle.internal.operations.TestBuildOperationExecutor
+import org.gradle.internal.resolve.resolver.ComponentMetaDataResolver
+import spock.lang.Specification
+
+class SelectedComponentsPrefetcherTest extends Specification {
+    def cache = Mock(SelectedComponentsCache)
+    def key = TestHashCodes.hashCodeFrom(12)
+    def inputs = TestHashCodes.hashCodeFrom(13)
+    def buildOperationExecutor = new TestBuildOperationExecutor()
+    def metaDataResolver = Mock(ComponentMetaDataResolver)
+
+    def "realizes metadata of previously selected components"() {
+        def a = module("a")
+        def b = module("b")
+        cache.get(key, inputs) >> [a, b]
+        def prefetcher = new SelectedComponentsPrefetcher(cache, key, inputs, buildOperationExecutor)
+
+        when:
+        prefetcher.prefetch(metaDataResolver)
+
+        then:
+        1 * metaDataResolver.isFetchingMetadataCheap(a) >> true
+        1 * metaDataResolver.isFetchingMetadataCheap(b) >> { throw new RuntimeException("broken") }
+        0 * metaDataResolver._
+    }
+
+    def "does nothing when there are no previously selected components"() {
+        def prefetcher = new SelectedComponentsPrefetcher(cache, key, inputs, buildOperationExecutor)
+
+        when:
+        prefetcher.prefetch(metaDataResolver)
+
+        then:
+        0 * metaDataResolver._
+    }
+
+    def "records the module components selected by the resolution"() {
+        def a = module("a")
+        def b = module("b")
+        def root = Stub(RootGraphNode)
+        def prefetcher = new SelectedComponentsPrefetcher(cache, key, inputs, buildOperationExecutor)
+
+        when:
+        prefetcher.visitNode(node(Stub(ComponentIdentifier)))
+        prefetcher.visitNode(node(a))
+        prefetcher.visitNode(node(b))
+        prefetcher.visitNode(node(a))
+        prefetcher.finish(root)
+
+        then:
+        1 * cache.store(key, inputs, [a, b])
+    }
+
+    def "does not store the selected components when they did not change"() {
+        def a = module("a")
+        cache.get(key, inputs) >> [a]
+        def prefetcher = new SelectedComponentsPrefetcher(cache, key, inputs, buildOperationExecutor)
+
+        when:
+        prefetcher.visitNode(node(a))
+        prefetcher.finish(Stub(RootGraphNode))
+
+        then:
+        0 * cache.store(_, _, _)
+    }
+
+    private static ComponentIdentifier module(String name) {
+        return DefaultModuleComponentIdentifier.newId(DefaultModuleIdentifier.newId("org", name), "1.0")
+    }
+
+    private DependencyGraphNode node(ComponentIdentifier id) {
+        def component = Stub(DependencyGraphComponent) {
+            getComponentId() >> id
+        }
+        return Stub(DependencyGraphNode) {
+            getOwner() >> component
+        }
+    }
+}
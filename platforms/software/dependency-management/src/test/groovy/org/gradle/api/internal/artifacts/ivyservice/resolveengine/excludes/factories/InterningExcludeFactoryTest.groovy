@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.excludes.factories
+
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.excludes.simple.DefaultExcludeFactory
+import spock.lang.Specification
+
+import static org.gradle.api.internal.artifacts.DefaultModuleIdentifier.newId
+
+class InterningExcludeFactoryTest extends Specification implements ExcludeTestSupport {
+    def interning = new InterningExcludeFactory(new DefaultExcludeFactory())
+
+    def "returns the same instance for equal specs"() {
+        expect:
+        interning.group("org").is(interning.group("org"))
+        interning.moduleId(newId("org", "foo")).is(interning.moduleId(newId("org", "foo")))
+        interning.moduleSet(["a", "b"] as Set).is(interning.moduleSet(["b", "a"] as Set))
+        interning.anyOf(group("org"), module("foo")).is(interning.anyOf(module("foo"), group("org")))
+        interning.allOf([group("org"), module("foo"), moduleId("org", "bar")] as Set).is(interning.allOf([moduleId("org", "bar"), module("foo"), group("org")] as Set))
+        interning.ivyPatternExclude(newId("org", "foo"), artifact("foo"), "exact").is(interning.ivyPatternExclude(newId("org", "foo"), artifact("foo"), "exact"))
+    }
+
+    def "returns distinct instances for different specs"() {
+        expect:
+        !interning.group("org").is(interning.group("com"))
+        interning.group("org") != interning.module("org")
+    }
+}
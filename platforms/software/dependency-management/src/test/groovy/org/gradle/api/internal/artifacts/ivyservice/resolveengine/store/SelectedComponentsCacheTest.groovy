@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.store
+
+import org.gradle.api.artifacts.component.ComponentIdentifier
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
+import org.gradle.api.internal.artifacts.ivyservice.ArtifactCacheLockingAccessCoordinator
+import org.gradle.cache.IndexedCache
+import org.gradle.internal.Factory
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier
+import org.gradle.internal.hash.TestHashCodes
+import spock.lang.Specification
+
+class SelectedComponentsCacheTest extends Specification {
+    def entries = [:]
+    def locked = false
+    def indexedCache = Stub(IndexedCache) {
+        getIfPresent(_) >> { args -> assert locked; entries[args[0]] }
+        put(_, _) >> { args -> assert locked; entries[args[0]] = args[1] }
+    }
+    def cacheAccessCoordinator = Stub(ArtifactCacheLockingAccessCoordinator) {
+        createCache("selected-components", _, _) >> indexedCache
+        useCache(_ as Factory) >> { Factory action -> withLock { action.create() } }
+        useCache(_ as Runnable) >> { Runnable action -> withLock { action.run() } }
+    }
+    def cache = new SelectedComponentsCache(cacheAccessCoordinator)
+    def configuration = TestHashCodes.hashCodeFrom(1)
+    def inputs = TestHashCodes.hashCodeFrom(2)
+
+    def "returns the components stored for the same configuration and inputs"() {
+        def components = [module("a"), module("b")]
+
+        when:
+        cache.store(configuration, inputs, components)
+
+        then:
+        cache.get(configuration, inputs) == components
+        cache.get(TestHashCodes.hashCodeFrom(3), inputs) == null
+    }
+
+    def "ignores the components stored for different inputs"() {
+        when:
+        cache.store(configuration, inputs, [module("a")])
+
+        then:
+        cache.get(configuration, TestHashCodes.hashCodeFrom(3)) == null
+    }
+
+    def "keeps a single entry per configuration"() {
+        def otherInputs = TestHashCodes.hashCodeFrom(3)
+
+        when:
+        cache.store(configuration, inputs, [module("a")])
+        cache.store(configuration, otherInputs, [module("b")])
+
+        then:
+        entries.size() == 1
+        cache.get(configuration, inputs) == null
+        cache.get(configuration, otherInputs) == [module("b")]
+    }
+
+    def "bounds the number of recorded components"() {
+        def components = (0..SelectedComponentsCache.MAX_COMPONENTS).collect { module("m$it") }
+
+        when:
+        cache.store(configuration, inputs, components)
+
+        then:
+        cache.get(configuration, inputs) == components.subList(0, SelectedComponentsCache.MAX_COMPONENTS)
+    }
+
+    private Object withLock(Closure action) {
+        assert !locked
+        locked = true
+        try {
+            return action()
+        } finally {
+            locked = false
+        }
+    }
+
+    private static ComponentIdentifier module(String name) {
+        return DefaultModuleComponentIdentifier.newId(DefaultModuleIdentifier.newId("org", name), "1.0")
+    }
+}
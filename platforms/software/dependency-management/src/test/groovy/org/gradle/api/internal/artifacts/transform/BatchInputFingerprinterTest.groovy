@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.transform
+
+import com.google.common.collect.ImmutableSortedMap
+import org.gradle.internal.execution.InputFingerprinter
+import org.gradle.internal.execution.UnitOfWork
+import org.gradle.internal.fingerprint.CurrentFileCollectionFingerprint
+import org.gradle.internal.properties.InputBehavior
+import org.gradle.internal.snapshot.ValueSnapshot
+import spock.lang.Specification
+
+import java.util.function.Consumer
+
+import static org.gradle.api.internal.artifacts.transform.AbstractTransformExecution.DEPENDENCIES_PROPERTY_NAME
+import static org.gradle.api.internal.artifacts.transform.AbstractTransformExecution.INPUT_ARTIFACT_PATH_PROPERTY_NAME
+
+class BatchInputFingerprinterTest extends Specification {
+    def delegate = Mock(InputFingerprinter)
+    def fingerprinter = new BatchInputFingerprinter(delegate)
+    def dependenciesFingerprint = Stub(CurrentFileCollectionFingerprint)
+    def inputs = { UnitOfWork.InputVisitor visitor ->
+        visitor.visitInputFileProperty(DEPENDENCIES_PROPERTY_NAME, InputBehavior.NON_INCREMENTAL, null)
+    } as Consumer<UnitOfWork.InputVisitor>
+
+    def "fingerprints the dependencies of the first execution of the batch only"() {
+        def inputArtifactPath = Stub(ValueSnapshot)
+
+        when:
+        def first = identify()
+
+        then:
+        1 * delegate.fingerprintInputProperties(_, _, ImmutableSortedMap.of(), ImmutableSortedMap.of(), inputs) >> Stub(InputFingerprinter.Result) {
+            getFileFingerprints() >> ImmutableSortedMap.of(DEPENDENCIES_PROPERTY_NAME, dependenciesFingerprint)
+        }
+        first.fileFingerprints[DEPENDENCIES_PROPERTY_NAME] == dependenciesFingerprint
+
+        when:
+        def second = identify()
+
+        then:
+        1 * delegate.fingerprintInputProperties(_, _, ImmutableSortedMap.of(), ImmutableSortedMap.of(DEPENDENCIES_PROPERTY_NAME, dependenciesFingerprint), inputs) >> Stub(InputFingerprinter.Result) {
+            getValueSnapshots() >> ImmutableSortedMap.of(INPUT_ARTIFACT_PATH_PROPERTY_NAME, inputArtifactPath)
+            getFileFingerprints() >> ImmutableSortedMap.of()
+        }
+        second.valueSnapshots[INPUT_ARTIFACT_PATH_PROPERTY_NAME] == inputArtifactPath
+        second.fileFingerprints[DEPENDENCIES_PROPERTY_NAME] == dependenciesFingerprint
+    }
+
+    def "fingerprints the other inputs as requested"() {
+        def knownFingerprints = ImmutableSortedMap.<String, CurrentFileCollectionFingerprint> of(DEPENDENCIES_PROPERTY_NAME, Stub(CurrentFileCollectionFingerprint))
+        def result = Stub(InputFingerprinter.Result)
+
+        given:
+        delegate.fingerprintInputProperties(_, _, _, _, _) >> Stub(InputFingerprinter.Result) {
+            getFileFingerprints() >> ImmutableSortedMap.of(DEPENDENCIES_PROPERTY_NAME, dependenciesFingerprint)
+        }
+        identify()
+
+        when:
+        def regularInputs = fingerprinter.fingerprintInputProperties(ImmutableSortedMap.of(), ImmutableSortedMap.of(), ImmutableSortedMap.of(), knownFingerprints, inputs)
+
+        then:
+        1 * delegate.fingerprintInputProperties(_, _, ImmutableSortedMap.of(), knownFingerprints, inputs) >> result
+        regularInputs == result
+    }
+
+    def "fingerprints inputs without the dependencies as requested"() {
+        def otherInputs = { UnitOfWork.InputVisitor visitor -> } as Consumer<UnitOfWork.InputVisitor>
+        def result = Stub(InputFingerprinter.Result)
+
+        given:
+        delegate.fingerprintInputProperties(_, _, _, _, inputs) >> Stub(InputFingerprinter.Result) {
+            getFileFingerprints() >> ImmutableSortedMap.of(DEPENDENCIES_PROPERTY_NAME, dependenciesFingerprint)
+        }
+        identify()
+
+        when:
+        def fingerprinted = fingerprinter.fingerprintInputProperties(ImmutableSortedMap.of(), ImmutableSortedMap.of(), ImmutableSortedMap.of(), ImmutableSortedMap.of(), otherInputs)
+
+        then:
+        1 * delegate.fingerprintInputProperties(_, _, ImmutableSortedMap.of(), ImmutableSortedMap.of(), otherInputs) >> result
+        fingerprinted == result
+    }
+
+    private InputFingerprinter.Result identify() {
+        fingerprinter.fingerprintInputProperties(
+            ImmutableSortedMap.of(),
+            ImmutableSortedMap.of(),
+            ImmutableSortedMap.<String, ValueSnapshot> of(),
+            ImmutableSortedMap.<String, CurrentFileCollectionFingerprint> of(),
+            inputs
+        )
+    }
+}
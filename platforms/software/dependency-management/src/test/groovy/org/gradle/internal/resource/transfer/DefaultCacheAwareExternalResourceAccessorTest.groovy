@@ -21,6 +21,7 @@ import org.gradle.api.internal.artifacts.ivyservice.ArtifactCacheLockingAccessCo
 import org.gradle.api.internal.artifacts.ivyservice.resolutionstrategy.DefaultExternalResourceCachePolicy
 import org.gradle.api.internal.file.temp.TemporaryFileProvider
 import org.gradle.cache.internal.ProducerGuard
+import org.gradle.internal.hash.ChecksumService
 import org.gradle.internal.hash.Hashing
 import org.gradle.internal.resource.ExternalResource
 import org.gradle.internal.resource.ExternalResourceName
@@ -62,7 +63,7 @@ class DefaultCacheAwareExternalResourceAccessorTest extends Specification {
             supplier.get()
         }
     }
-    final cache = new DefaultCacheAwareExternalResourceAccessor(repository, index, timeProvider, temporaryFileProvider, cacheAccessCoordinator, cachePolicy, producerGuard, fileRepository, TestUtil.checksumService)
+    final cache = new DefaultCacheAwareExternalResourceAccessor(repository, index, timeProvider, temporaryFileProvider, cacheAccessCoordinator, cachePolicy, producerGuard, fileRepository, TestUtil.checksumService, false)
 
     def "returns null when the request resource is not cached and does not exist in the remote repository"() {
         def location = new ExternalResourceName("thing")
@@ -137,6 +138,46 @@ class DefaultCacheAwareExternalResourceAccessorTest extends Specification {
         0 * _._
     }
 
+    def "records checksums computed while downloading the resource"() {
+        def checksumService = Mock(ChecksumService)
+        def cache = new DefaultCacheAwareExternalResourceAccessor(repository, index, timeProvider, temporaryFileProvider, cacheAccessCoordinator, cachePolicy, producerGuard, fileRepository, checksumService, verifyingChecksums)
+        def location = new ExternalResourceName("thing")
+        def fileStore = Mock(CacheAwareExternalResourceAccessor.ResourceFileStore)
+        def localCandidates = Stub(LocallyAvailableResourceCandidates) {
+            isNone() >> true
+        }
+        def remoteResource = Stub(ExternalResource) {
+            withContentIfPresent(_) >> { ExternalResource.ContentAndMetadataAction a ->
+                a.execute(new ByteArrayInputStream("content".bytes), Stub(ExternalResourceMetaData))
+            }
+        }
+        repository.withProgressLogging() >> progressLoggingRepo
+        progressLoggingRepo.resource(location) >> remoteResource
+        def checksums = [sha1: Hashing.sha1().hashBytes("content".bytes)]
+        if (verifyingChecksums) {
+            checksums.sha256 = Hashing.sha256().hashBytes("content".bytes)
+        }
+
+        when:
+        cache.getResource(location, null, fileStore, localCandidates)
+
+        then:
+        1 * checksumService.recordChecksums(tempFile, checksums)
+
+        then:
+        1 * fileStore.moveIntoCache(tempFile) >> new DefaultLocallyAvailableResource(cachedFile, checksumService)
+
+        then:
+        1 * checksumService.recordChecksums(cachedFile, checksums)
+
+        then:
+        1 * checksumService.discardRecordedChecksums(tempFile)
+        0 * checksumService._
+
+        where:
+        verifyingChecksums << [true, false]
+    }
+
     def "reuses cached resource if it has not expired"() {
         def location = new ExternalResourceName("scheme:thing")
         def fileStore = Mock(CacheAwareExternalResourceAccessor.ResourceFileStore)
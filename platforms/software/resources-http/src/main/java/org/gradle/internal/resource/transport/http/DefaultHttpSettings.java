@@ -34,6 +34,7 @@
 import java.util.Collection;
 
 public class DefaultHttpSettings implements HttpSettings {
+    public static final String MAX_CONNECTIONS_PER_ROUTE_SYSTEM_PROPERTY = "org.gradle.internal.http.maxConnectionsPerRoute";
     private static final int DEFAULT_MAX_REDIRECTS = 10;
     private static final int DEFAULT_MAX_CONNECTIONS = 20;
 
@@ -154,7 +155,7 @@ public static class Builder {
         private HttpRedirectVerifier redirectVerifier;
         private int maxRedirects = DEFAULT_MAX_REDIRECTS;
         private int maxConnTotal = DEFAULT_MAX_CONNECTIONS;
-        private int maxConnPerRoute = DEFAULT_MAX_CONNECTIONS;
+        private int maxConnPerRoute = Integer.getInteger(MAX_CONNECTIONS_PER_ROUTE_SYSTEM_PROPERTY, DEFAULT_MAX_CONNECTIONS);
         private RedirectMethodHandlingStrategy redirectMethodHandlingStrategy = RedirectMethodHandlingStrategy.ALWAYS_FOLLOW_AND_PRESERVE;
 
         public Builder withAuthenticationSettings(Collection<Authentication> authenticationSettings) {
@@ -38,6 +38,7 @@
 import org.apache.http.client.utils.DateUtils;
 import org.apache.http.config.RegistryBuilder;
 import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.HttpClientConnectionManager;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.util.PublicSuffixMatcher;
 import org.apache.http.conn.util.PublicSuffixMatcherLoader;
@@ -75,7 +76,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
 import java.net.ProxySelector;
 import java.util.Arrays;
 import java.util.Collection;
@@ -133,8 +134,21 @@ public HttpClientConfigurer(HttpSettings httpSettings) {
     }
 
     public void configure(HttpClientBuilder builder) {
+        builder.setSSLSocketFactory(createSslSocketFactory(httpSettings.getSslContextFactory().createSslContext()));
+        configureClient(builder);
+    }
+
+    /**
+     * Configures the builder to use a connection manager shared with other clients, which provides the SSL socket factory.
+     */
+    void configure(HttpClientBuilder builder, HttpClientConnectionManager sharedConnectionManager) {
+        builder.setConnectionManager(sharedConnectionManager);
+        builder.setConnectionManagerShared(true);
+        configureClient(builder);
+    }
+
+    private void configureClient(HttpClientBuilder builder) {
         SystemDefaultCredentialsProvider credentialsProvider = new SystemDefaultCredentialsProvider();
-        configureSslSocketConnectionFactory(builder, httpSettings.getSslContextFactory(), httpSettings.getHostnameVerifier());
         configureAuthSchemeRegistry(builder);
         configureCredentials(builder, credentialsProvider, httpSettings.getAuthenticationSettings());
         configureProxy(builder, credentialsProvider, httpSettings);
@@ -149,8 +163,8 @@ public void configure(HttpClientBuilder builder) {
         builder.setConnectionTimeToLive(httpSettings.getTimeoutSettings().getIdleConnectionTimeoutMs(), TimeUnit.MILLISECONDS);
     }
 
-    private void configureSslSocketConnectionFactory(HttpClientBuilder builder, SslContextFactory sslContextFactory, HostnameVerifier hostnameVerifier) {
-        builder.setSSLSocketFactory(new SSLConnectionSocketFactory(sslContextFactory.createSslContext(), sslProtocols, null, hostnameVerifier));
+    SSLConnectionSocketFactory createSslSocketFactory(SSLContext sslContext) {
+        return new SSLConnectionSocketFactory(sslContext, sslProtocols, null, httpSettings.getHostnameVerifier());
     }
 
     private void configureAuthSchemeRegistry(HttpClientBuilder builder) {
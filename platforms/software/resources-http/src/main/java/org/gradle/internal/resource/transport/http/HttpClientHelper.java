@@ -60,6 +60,8 @@ public class HttpClientHelper implements Closeable {
     private CloseableHttpClient client;
     private final DocumentationRegistry documentationRegistry;
     private final HttpSettings settings;
+    @Nullable
+    private final HttpConnectionPools connectionPools;
 
     private Collection<String> supportedTlsVersions;
 
@@ -77,8 +79,14 @@ public class HttpClientHelper implements Closeable {
      */
     @VisibleForTesting
     HttpClientHelper(DocumentationRegistry documentationRegistry, HttpSettings settings) {
+        this(documentationRegistry, settings, null);
+    }
+
+    @VisibleForTesting
+    HttpClientHelper(DocumentationRegistry documentationRegistry, HttpSettings settings, @Nullable HttpConnectionPools connectionPools) {
         this.documentationRegistry = documentationRegistry;
         this.settings = settings;
+        this.connectionPools = connectionPools;
         if (!settings.getAuthenticationSettings().isEmpty()) {
             sharedContext = new ConcurrentLinkedQueue<HttpContext>();
         } else {
@@ -196,7 +204,11 @@ private HttpClientResponse performHttpRequest(HttpRequestBase request, HttpConte
         LOGGER.debug("Performing HTTP {}: {}", request.getMethod(), stripUserCredentials(request.getURI()));
 
         try {
+            long start = System.nanoTime();
             CloseableHttpResponse response = getClient().execute(request, httpContext);
+            if (connectionPools != null) {
+                connectionPools.requestCompleted(System.nanoTime() - start);
+            }
             return toHttpClientResponse(request, httpContext, response);
         } catch (IOException e) {
             validateRedirectChain(httpContext);
@@ -253,7 +265,11 @@ private synchronized CloseableHttpClient getClient() {
         if (client == null) {
             HttpClientBuilder builder = HttpClientBuilder.create();
             HttpClientConfigurer configurer = new HttpClientConfigurer(settings);
-            configurer.configure(builder);
+            if (connectionPools != null) {
+                configurer.configure(builder, connectionPools.connectionManagerFor(settings, configurer));
+            } else {
+                configurer.configure(builder);
+            }
             this.supportedTlsVersions = configurer.supportedTlsVersions();
             this.client = builder.build();
         }
@@ -314,6 +330,13 @@ public interface Factory {
         static Factory createFactory(DocumentationRegistry documentationRegistry) {
             return settings -> new HttpClientHelper(documentationRegistry, settings);
         }
+
+        /**
+         * Creates a factory whose clients share their connections, when they use the same connection settings.
+         */
+        static Factory createFactory(DocumentationRegistry documentationRegistry, HttpConnectionPools connectionPools) {
+            return settings -> new HttpClientHelper(documentationRegistry, settings, connectionPools);
+        }
     }
 
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.transport.http;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.gradle.internal.concurrent.Stoppable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection pools shared by all {@link HttpClientHelper} instances created by the same factory.
+ *
+ * <p>Each repository used to get its own client, with its own pool of connections. Resolving many small files from
+ * several repositories hosted by the same server, for example an artifact proxy, therefore opened new connections
+ * and performed new TLS handshakes for each of them. Clients with the same connection settings now share a pool,
+ * so that a connection opened by one of them can be reused by the others.</p>
+ *
+ * <p>Connections established with a user specific state, such as NTLM authenticated connections, are only reused
+ * for requests with the same state, as the pool keeps track of the state a connection was established with.</p>
+ */
+public class HttpConnectionPools implements Stoppable {
+    public static final String MAX_CONNECTIONS_SYSTEM_PROPERTY = "org.gradle.internal.http.maxConnections";
+    public static final int DEFAULT_MAX_CONNECTIONS = 100;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpConnectionPools.class);
+
+    private final Map<PoolKey, PoolingHttpClientConnectionManager> pools = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder timeToFirstByteNanos = new LongAdder();
+
+    HttpClientConnectionManager connectionManagerFor(HttpSettings settings, HttpClientConfigurer configurer) {
+        // The SSL context reflects the current SSL system properties, and is cached by the factory for as long as they do not change
+        SSLContext sslContext = settings.getSslContextFactory().createSslContext();
+        PoolKey key = new PoolKey(settings, sslContext, configurer.supportedTlsVersions());
+        return pools.computeIfAbsent(key, k -> createPool(settings, sslContext, configurer));
+    }
+
+    private PoolingHttpClientConnectionManager createPool(HttpSettings settings, SSLContext sslContext, HttpClientConfigurer configurer) {
+        ManagedHttpClientConnectionFactory connectionFactory = ManagedHttpClientConnectionFactory.INSTANCE;
+        HttpTimeoutSettings timeoutSettings = settings.getTimeoutSettings();
+        PoolingHttpClientConnectionManager pool = new PoolingHttpClientConnectionManager(
+            RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", configurer.createSslSocketFactory(sslContext))
+                .build(),
+            (route, config) -> {
+                ManagedHttpClientConnection connection = connectionFactory.create(route, config);
+                connectionsOpened.increment();
+                return connection;
+            },
+            null,
+            null,
+            timeoutSettings.getIdleConnectionTimeoutMs(),
+            TimeUnit.MILLISECONDS
+        );
+        pool.setDefaultSocketConfig(SocketConfig.custom().setSoTimeout(timeoutSettings.getSocketTimeoutMs()).setSoKeepAlive(true).build());
+        pool.setMaxTotal(Math.max(Integer.getInteger(MAX_CONNECTIONS_SYSTEM_PROPERTY, DEFAULT_MAX_CONNECTIONS), settings.getMaxConnPerRoute()));
+        pool.setDefaultMaxPerRoute(settings.getMaxConnPerRoute());
+        return pool;
+    }
+
+    void requestCompleted(long timeToFirstByteNanos) {
+        requests.increment();
+        this.timeToFirstByteNanos.add(timeToFirstByteNanos);
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(requests.sum(), connectionsOpened.sum(), timeToFirstByteNanos.sum());
+    }
+
+    @Override
+    public void stop() {
+        for (PoolingHttpClientConnectionManager pool : pools.values()) {
+            pool.shutdown();
+        }
+        pools.clear();
+        Statistics statistics = getStatistics();
+        if (statistics.getRequests() > 0) {
+            LOGGER.debug("Performed {} HTTP requests over {} connections, with a mean time to first byte of {}ms.",
+                statistics.getRequests(), statistics.getConnectionsOpened(), statistics.getMeanTimeToFirstByteMillis());
+        }
+    }
+
+    /**
+     * Connection reuse and latency of the requests performed through the shared pools.
+     */
+    public static class Statistics {
+        private final long requests;
+        private final long connectionsOpened;
+        private final long timeToFirstByteNanos;
+
+        private Statistics(long requests, long connectionsOpened, long timeToFirstByteNanos) {
+            this.requests = requests;
+            this.connectionsOpened = connectionsOpened;
+            this.timeToFirstByteNanos = timeToFirstByteNanos;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getConnectionsOpened() {
+            return connectionsOpened;
+        }
+
+        /**
+         * The number of requests that were performed over a connection opened by a previous request.
+         */
+        public long getConnectionsReused() {
+            return Math.max(0, requests - connectionsOpened);
+        }
+
+        /**
+         * The mean time between sending a request and receiving the headers of its response, including any redirects.
+         */
+        public long getMeanTimeToFirstByteMillis() {
+            return requests == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(timeToFirstByteNanos / requests);
+        }
+    }
+
+    /**
+     * The settings a pooled connection depends on. Credentials are not part of the key, as they are sent with each request.
+     */
+    private static class PoolKey {
+        private final SSLContext sslContext;
+        private final Class<?> hostnameVerifierType;
+        private final List<String> tlsVersions;
+        private final int socketTimeoutMs;
+        private final int idleConnectionTimeoutMs;
+        private final int maxConnPerRoute;
+
+        PoolKey(HttpSettings settings, SSLContext sslContext, Iterable<String> tlsVersions) {
+            this.sslContext = sslContext;
+            // Hostname verifiers are created for each client, but they hold no state
+            this.hostnameVerifierType = settings.getHostnameVerifier() == null ? null : settings.getHostnameVerifier().getClass();
+            this.tlsVersions = ImmutableList.copyOf(tlsVersions);
+            this.socketTimeoutMs = settings.getTimeoutSettings().getSocketTimeoutMs();
+            this.idleConnectionTimeoutMs = settings.getTimeoutSettings().getIdleConnectionTimeoutMs();
+            this.maxConnPerRoute = settings.getMaxConnPerRoute();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            PoolKey that = (PoolKey) o;
+            return socketTimeoutMs == that.socketTimeoutMs
+                && idleConnectionTimeoutMs == that.idleConnectionTimeoutMs
+                && maxConnPerRoute == that.maxConnPerRoute
+                && sslContext == that.sslContext
+                && Objects.equals(hostnameVerifierType, that.hostnameVerifierType)
+                && tlsVersions.equals(that.tlsVersions);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(sslContext), hostnameVerifierType, tlsVersions, socketTimeoutMs, idleConnectionTimeoutMs, maxConnPerRoute);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.transport.http
+
+import org.gradle.api.internal.DocumentationRegistry
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.test.fixtures.server.http.HttpServer
+import org.junit.Rule
+import spock.lang.Specification
+
+import javax.net.ssl.SSLContext
+
+class HttpConnectionPoolsTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+    @Rule
+    HttpServer httpServer = new HttpServer()
+    SslContextFactory sslContextFactory = new DefaultSslContextFactory()
+    HttpConnectionPools pools = new HttpConnectionPools()
+
+    def cleanup() {
+        pools.stop()
+    }
+
+    def "clients with the same settings reuse each other's connections"() {
+        def pom = tmpDir.file("lib.pom") << "<project/>"
+        def factory = HttpClientHelper.Factory.createFactory(new DocumentationRegistry(), pools)
+        def first = factory.create(settings())
+        def second = factory.create(settings())
+        httpServer.expectGet("/first/lib.pom", pom)
+        httpServer.expectGet("/second/lib.pom", pom)
+        httpServer.start()
+
+        when:
+        get(first, "/first/lib.pom")
+        get(second, "/second/lib.pom")
+
+        then:
+        def statistics = pools.statistics
+        statistics.requests == 2
+        statistics.connectionsOpened == 1
+        statistics.connectionsReused == 1
+
+        cleanup:
+        first.close()
+        second.close()
+    }
+
+    def "closing a client keeps the shared connections open"() {
+        def pom = tmpDir.file("lib.pom") << "<project/>"
+        def factory = HttpClientHelper.Factory.createFactory(new DocumentationRegistry(), pools)
+        def first = factory.create(settings())
+        def second = factory.create(settings())
+        httpServer.expectGet("/first/lib.pom", pom)
+        httpServer.expectGet("/second/lib.pom", pom)
+        httpServer.start()
+
+        when:
+        get(first, "/first/lib.pom")
+        first.close()
+        get(second, "/second/lib.pom")
+
+        then:
+        pools.statistics.connectionsOpened == 1
+
+        cleanup:
+        second.close()
+    }
+
+    def "clients share connections only when they use the same SSL context"() {
+        def pom = tmpDir.file("lib.pom") << "<project/>"
+        def factory = HttpClientHelper.Factory.createFactory(new DocumentationRegistry(), pools)
+        def sslContext = newSslContext()
+        def first = factory.create(settings(Stub(SslContextFactory) { createSslContext() >> sslContext }))
+        def sameContext = factory.create(settings(Stub(SslContextFactory) { createSslContext() >> sslContext }))
+        def otherContext = factory.create(settings(Stub(SslContextFactory) { createSslContext() >> newSslContext() }))
+        httpServer.expectGet("/first/lib.pom", pom)
+        httpServer.expectGet("/same/lib.pom", pom)
+        httpServer.expectGet("/other/lib.pom", pom)
+        httpServer.start()
+
+        when:
+        get(first, "/first/lib.pom")
+        get(sameContext, "/same/lib.pom")
+        get(otherContext, "/other/lib.pom")
+
+        then:
+        def statistics = pools.statistics
+        statistics.requests == 3
+        statistics.connectionsOpened == 2
+
+        cleanup:
+        first.close()
+        sameContext.close()
+        otherContext.close()
+    }
+
+    private void get(HttpClientHelper client, String path) {
+        def response = client.performGet("${httpServer.address}${path}", false)
+        try {
+            assert response.content.text == "<project/>"
+        } finally {
+            response.close()
+        }
+    }
+
+    private HttpSettings settings(SslContextFactory sslContextFactory = this.sslContextFactory) {
+        DefaultHttpSettings.builder()
+            .withAuthenticationSettings([])
+            .withSslContextFactory(sslContextFactory)
+            .withRedirectVerifier({})
+            .build()
+    }
+
+    private static SSLContext newSslContext() {
+        def sslContext = SSLContext.getInstance("TLS")
+        sslContext.init(null, null, null)
+        return sslContext
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.classpath;
+
+import org.codehaus.groovy.runtime.callsite.CallSiteArray;
+import org.codehaus.groovy.vmplugin.v8.IndyInterface;
+import org.gradle.internal.classpath.intercept.CallInterceptorsSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Properties;
+
+/**
+ * Measures the per-call overhead of intercepting {@code getProperty} calls in instrumented build logic.
+ * <ul>
+ *     <li>Calls from Java and Kotlin bytecode, such as Kotlin DSL scripts, are replaced with calls to {@link Instrumented} when instrumenting.</li>
+ *     <li>Calls from Groovy bytecode compiled with indy go through call sites linked by {@link Instrumented#bootstrap}, compared here with the plain Groovy call sites.</li>
+ *     <li>Calls from Groovy bytecode compiled without indy go through the call site arrays decorated by {@link Instrumented#groovyCallSites},
+ *     compared here with the plain Groovy call site arrays.</li>
+ * </ul>
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class CallInterceptionBenchmark {
+    private static final String KEY = "java.version";
+    private static final String CONSUMER = CallInterceptionBenchmark.class.getName();
+    private static final MethodType CALL_SITE_TYPE = MethodType.methodType(Object.class, Object.class, String.class);
+
+    private final Properties properties = new Properties();
+    private MethodHandle groovyCall;
+    private MethodHandle instrumentedGroovyCall;
+    private MethodHandle instrumentedOtherGroovyCall;
+    private CallSiteArray groovyCallSites;
+    private CallSiteArray instrumentedGroovyCallSites;
+
+    @Setup
+    public void setup() {
+        properties.setProperty(KEY, "value");
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        groovyCall = IndyInterface.bootstrap(lookup, "invoke", CALL_SITE_TYPE, "getProperty", 0).dynamicInvoker();
+        instrumentedGroovyCall = Instrumented.bootstrap(lookup, "invoke", CALL_SITE_TYPE, "getProperty", 0).dynamicInvoker();
+        // A separate call site, so that the receivers of the calls of each benchmark are the same
+        instrumentedOtherGroovyCall = Instrumented.bootstrap(lookup, "invoke", CALL_SITE_TYPE, "getProperty", 0).dynamicInvoker();
+        groovyCallSites = new CallSiteArray(CallInterceptionBenchmark.class, new String[]{"getProperty"});
+        instrumentedGroovyCallSites = new CallSiteArray(CallInterceptionBenchmark.class, new String[]{"getProperty"});
+        CallInterceptorsSet interceptors = new CallInterceptorsSet(GroovyCallInterceptorsProvider.DEFAULT);
+        instrumentedGroovyCallSites.array[0] = interceptors.maybeDecorateGroovyCallSite(instrumentedGroovyCallSites.array[0]);
+    }
+
+    @Benchmark
+    public String systemPropertyFromJava() {
+        return System.getProperty(KEY);
+    }
+
+    @Benchmark
+    public String instrumentedSystemPropertyFromJava() {
+        return Instrumented.systemProperty(KEY, CONSUMER);
+    }
+
+    @Benchmark
+    public Object systemPropertyFromGroovy() throws Throwable {
+        return (Object) groovyCall.invokeExact((Object) System.class, KEY);
+    }
+
+    @Benchmark
+    public Object instrumentedSystemPropertyFromGroovy() throws Throwable {
+        return (Object) instrumentedGroovyCall.invokeExact((Object) System.class, KEY);
+    }
+
+    /**
+     * The call site is intercepted because of the name of the method, while the receiver is not the intercepted class.
+     */
+    @Benchmark
+    public Object instrumentedOtherGetPropertyFromGroovy() throws Throwable {
+        return (Object) instrumentedOtherGroovyCall.invokeExact((Object) properties, KEY);
+    }
+
+    /**
+     * Reads the call site from the array on each call, as the code compiled by Groovy does, so that the call site that Groovy puts
+     * in the array after the first call is used.
+     */
+    @Benchmark
+    public Object systemPropertyFromGroovyCallSite() throws Throwable {
+        return groovyCallSites.array[0].callStatic(System.class, KEY);
+    }
+
+    /**
+     * The decorated call site stays in the array, as the interceptor does not call the original method.
+     */
+    @Benchmark
+    public Object instrumentedSystemPropertyFromGroovyCallSite() throws Throwable {
+        return instrumentedGroovyCallSites.array[0].callStatic(System.class, KEY);
+    }
+}
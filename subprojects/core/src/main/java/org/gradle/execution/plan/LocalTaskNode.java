@@ -50,6 +50,8 @@ public class LocalTaskNode extends TaskNode {
     private List<? extends ResourceLock> resourceLocks;
     private TaskProperties taskProperties;
     private ProjectInternal taskProject;
+    @Nullable
+    private Runnable stateLoader;
 
     public LocalTaskNode(TaskInternal task, WorkValidationContext workValidationContext, Function<LocalTaskNode, ResolveMutationsNode> resolveNodeFactory) {
         this.task = task;
@@ -65,6 +67,24 @@ public void isolated() {
         isolated = true;
     }
 
+    /**
+     * Defers loading the state of the task until right before the task executes, when the mutations of this node are resolved.
+     *
+     * <p>The mutations are resolved by the worker executing the {@link ResolveMutationsNode} of this node, which completes before this node
+     * is selected for execution, so the state is never loaded while the execution plan is locked.</p>
+     */
+    public void loadStateBeforeExecution(Runnable stateLoader) {
+        this.stateLoader = stateLoader;
+    }
+
+    private synchronized void loadState() {
+        Runnable loader = stateLoader;
+        if (loader != null) {
+            stateLoader = null;
+            loader.run();
+        }
+    }
+
     public WorkValidationContext getValidationContext() {
         return validationContext;
     }
@@ -228,6 +248,7 @@ public void resolveMutations() {
         final FileCollectionFactory fileCollectionFactory = serviceRegistry.get(FileCollectionFactory.class);
         PropertyWalker propertyWalker = serviceRegistry.get(PropertyWalker.class);
         try {
+            loadState();
             taskProperties = DefaultTaskProperties.resolve(propertyWalker, fileCollectionFactory, task);
 
             addOutputFilesToMutations(taskProperties.getOutputFileProperties());
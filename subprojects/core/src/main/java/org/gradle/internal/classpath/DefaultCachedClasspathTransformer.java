@@ -50,12 +50,15 @@
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
 
 import static java.util.Optional.empty;
 import static org.gradle.internal.Either.left;
@@ -188,6 +191,7 @@ public List<URL> transform(Collection<URL> urls, StandardTransform transform) {
         InstrumentingTypeRegistry typeRegistry = typeRegistryFactory.createFor(urls, transformer);
         return parallelTransformExecutor.transformAll(
             urls,
+            DefaultCachedClasspathTransformer::sizeOf,
             (url, seen) -> cachedURL(url, transformer, seen, typeRegistry)
         );
     }
@@ -197,6 +201,7 @@ private ClassPath transformFiles(ClassPath classPath, ClasspathFileTransformer t
         return DefaultClassPath.of(
             parallelTransformExecutor.transformAll(
                 classPath.getAsFiles(),
+                File::length,
                 (file, seen) -> cachedFile(file, transformer, seen, typeRegistry)
             )
         );
@@ -272,6 +277,10 @@ private File transformFile(File original, FileSystemLocationSnapshot snapshot, C
         return result;
     }
 
+    private static long sizeOf(URL url) {
+        return url.getProtocol().equals("file") ? Convert.urlToFile(url).length() : 0;
+    }
+
     private FileSystemLocationSnapshot snapshotOf(File file) {
         return fileSystemAccess.read(file.getAbsolutePath());
     }
@@ -303,12 +312,17 @@ public ParallelTransformExecutor(PersistentCache cache, ManagedExecutor executor
             this.executor = executor;
         }
 
-        public <T, U> List<U> transformAll(Collection<T> inputs, ValueOrTransformProvider<T, U> valueOrTransformProvider) {
+        /**
+         * Transforms all the inputs concurrently, starting with the transforms of the heaviest inputs, as estimated by the given weigher.
+         * This way, a large input that comes late in the list does not keep a single worker busy after all the others are done.
+         * The results are in the order of the inputs.
+         */
+        public <T, U> List<U> transformAll(Collection<T> inputs, ToLongFunction<T> weigher, ValueOrTransformProvider<T, U> valueOrTransformProvider) {
             assert !inputs.isEmpty();
             return cache.useCache(() -> {
 
                 final List<U> results = new ArrayList<>(inputs.size());
-                final List<Callable<Void>> transforms = new ArrayList<>(inputs.size());
+                final List<WeightedTransform> transforms = new ArrayList<>(inputs.size());
                 final Set<HashCode> seen = new HashSet<>();
                 for (T input : inputs) {
                     valueOrTransformProvider.apply(input, seen).ifPresent(valueOrTransform ->
@@ -317,17 +331,21 @@ public <T, U> List<U> transformAll(Collection<T> inputs, ValueOrTransformProvide
                             transform -> {
                                 final int index = results.size();
                                 results.add(null);
-                                transforms.add(() -> {
+                                transforms.add(new WeightedTransform(weigher.applyAsLong(input), () -> {
                                     results.set(index, unchecked(transform));
                                     return null;
-                                });
+                                }));
                             }
                         )
                     );
                 }
 
-                // Execute all transforms at once
-                for (Future<Void> result : unchecked(() -> executor.invokeAll(transforms))) {
+                // Execute all transforms at once, heaviest first
+                transforms.sort(Comparator.comparingLong((WeightedTransform transform) -> transform.weight).reversed());
+                List<Callable<Void>> orderedTransforms = transforms.stream()
+                    .map(transform -> transform.transform)
+                    .collect(Collectors.toList());
+                for (Future<Void> result : unchecked(() -> executor.invokeAll(orderedTransforms))) {
                     // Propagate first failure
                     unchecked(result::get);
                 }
@@ -335,6 +353,16 @@ public <T, U> List<U> transformAll(Collection<T> inputs, ValueOrTransformProvide
                 return results;
             });
         }
+
+        private static class WeightedTransform {
+            private final long weight;
+            private final Callable<Void> transform;
+
+            WeightedTransform(long weight, Callable<Void> transform) {
+                this.weight = weight;
+                this.transform = transform;
+            }
+        }
     }
 
     public static class Convert {
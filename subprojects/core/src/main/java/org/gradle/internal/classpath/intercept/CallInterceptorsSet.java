@@ -149,16 +149,22 @@ public boolean isAwareOfCallSiteName(String name) {
 
     private class DecoratingCallSite extends AbstractCallSite {
         private @Nullable CallSite groovyDefaultCallSite = null;
+        // The name of the call site never changes, so the interceptors are resolved once, when the call site is decorated, rather than on each call
+        private final @Nullable CallInterceptor methodInterceptor;
+        private final @Nullable CallInterceptor propertyReadInterceptor;
+        private final boolean isInterceptedCallSiteName;
 
         public DecoratingCallSite(CallSite prev) {
             super(prev);
+            this.methodInterceptor = resolveCallInterceptor(InterceptScope.methodsNamed(getName()));
+            this.propertyReadInterceptor = resolveCallInterceptor(InterceptScope.readsOfPropertiesNamed(getName()));
+            this.isInterceptedCallSiteName = interceptedCallSiteNames.contains(getName());
         }
 
         @Override
         public Object call(Object receiver, Object[] args) throws Throwable {
-            CallInterceptor interceptor = resolveCallInterceptor(InterceptScope.methodsNamed(getName()));
-            if (interceptor != null) {
-                return interceptor.doIntercept(new AbstractInvocation<Object>(receiver, args) {
+            if (methodInterceptor != null) {
+                return methodInterceptor.doIntercept(new AbstractInvocation<Object>(receiver, args) {
                     @Override
                     public Object callOriginal() throws Throwable {
                         return DecoratingCallSite.super.call(receiver, args);
@@ -170,9 +176,8 @@ public Object callOriginal() throws Throwable {
 
         @Override
         public Object callGetProperty(Object receiver) throws Throwable {
-            CallInterceptor interceptor = resolveCallInterceptor(InterceptScope.readsOfPropertiesNamed(getName()));
-            if (interceptor != null) {
-                return interceptor.doIntercept(new AbstractInvocation<Object>(receiver, new Object[0]) {
+            if (propertyReadInterceptor != null) {
+                return propertyReadInterceptor.doIntercept(new AbstractInvocation<Object>(receiver, new Object[0]) {
                     @Override
                     public Object callOriginal() throws Throwable {
                         return DecoratingCallSite.super.callGetProperty(receiver);
@@ -184,9 +189,8 @@ public Object callOriginal() throws Throwable {
 
         @Override
         public Object callStatic(Class receiver, Object[] args) throws Throwable {
-            CallInterceptor interceptor = resolveCallInterceptor(InterceptScope.methodsNamed(getName()));
-            if (interceptor != null) {
-                return interceptor.doIntercept(new AbstractInvocation<Class<?>>(receiver, args) {
+            if (methodInterceptor != null) {
+                return methodInterceptor.doIntercept(new AbstractInvocation<Class<?>>(receiver, args) {
                     @Override
                     public Object callOriginal() throws Throwable {
                         return DecoratingCallSite.super.callStatic(receiver, args);
@@ -211,7 +215,7 @@ public Object callOriginal() throws Throwable {
             Object receiver,
             @Nullable Object[] args
         ) throws Throwable {
-            if (interceptedCallSiteNames.contains(getName())) {
+            if (isInterceptedCallSiteName) {
                 InstrumentedGroovyCallsTracker.CallKind kind = callStrategy == CallStrategy.CALL_CURRENT ? INVOKE_METHOD : GET_PROPERTY;
                 InstrumentedClosuresHelper.INSTANCE.hitInstrumentedDynamicCall();
                 return withEntryPoint(callSiteOwnerClassName(), getName(), kind, () -> invokeDefaultGroovyCallSiteImplementation(receiver, args, callStrategy));
@@ -73,7 +73,7 @@ public DefaultInstrumentingDirectSuperTypesCollector(PersistentCache cache, Defa
 
     @Override
     public Map<String, Set<String>> visit(List<File> files, ClasspathFileHasher fileHasher) {
-        List<Map<String, Set<String>>> directSuperTypes = parallelExecutor.transformAll(files, (File source, Set<HashCode> seen) -> visitClassHierarchyForFile(source, seen, fileHasher));
+        List<Map<String, Set<String>>> directSuperTypes = parallelExecutor.transformAll(files, File::length, (File source, Set<HashCode> seen) -> visitClassHierarchyForFile(source, seen, fileHasher));
         return directSuperTypes.stream().flatMap(map -> map.entrySet().stream())
             .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, DefaultInstrumentingDirectSuperTypesCollector::concat));
     }
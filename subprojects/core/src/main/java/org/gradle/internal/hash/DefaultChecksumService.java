@@ -20,15 +20,29 @@
 import org.gradle.api.internal.changedetection.state.CrossBuildFileHashCache;
 import org.gradle.api.internal.changedetection.state.FileHasherStatistics;
 import org.gradle.api.internal.changedetection.state.FileTimeStampInspector;
+import org.gradle.internal.file.FileMetadata;
 import org.gradle.internal.nativeintegration.filesystem.FileSystem;
 
+import javax.annotation.Nullable;
 import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DefaultChecksumService implements ChecksumService {
+    private static final String MD5 = "md5";
+    private static final String SHA1 = "sha1";
+    private static final String SHA256 = "sha256";
+    private static final String SHA512 = "sha512";
+
     private final CachingFileHasher md5;
     private final CachingFileHasher sha1;
     private final CachingFileHasher sha256;
     private final CachingFileHasher sha512;
+    private final FileSystem fileSystem;
+    // Checksums computed while files were written. These files were usually written during the current build,
+    // so their timestamps cannot be trusted by the persistent caches, which would otherwise hash them again on each request.
+    private final Map<String, RecordedChecksums> recordedChecksums = new ConcurrentHashMap<>();
 
     public DefaultChecksumService(
         StringInterner stringInterner,
@@ -37,10 +51,11 @@ public DefaultChecksumService(
         FileTimeStampInspector fileTimeStampInspector,
         FileHasherStatistics.Collector statisticsCollector
     ) {
-        md5 = createCache(stringInterner, fileStore, fileSystem, fileTimeStampInspector, "md5", Hashing.md5(), statisticsCollector);
-        sha1 = createCache(stringInterner, fileStore, fileSystem, fileTimeStampInspector, "sha1", Hashing.sha1(), statisticsCollector);
-        sha256 = createCache(stringInterner, fileStore, fileSystem, fileTimeStampInspector, "sha256", Hashing.sha256(), statisticsCollector);
-        sha512 = createCache(stringInterner, fileStore, fileSystem, fileTimeStampInspector, "sha512", Hashing.sha512(), statisticsCollector);
+        md5 = createCache(stringInterner, fileStore, fileSystem, fileTimeStampInspector, MD5, Hashing.md5(), statisticsCollector);
+        sha1 = createCache(stringInterner, fileStore, fileSystem, fileTimeStampInspector, SHA1, Hashing.sha1(), statisticsCollector);
+        sha256 = createCache(stringInterner, fileStore, fileSystem, fileTimeStampInspector, SHA256, Hashing.sha256(), statisticsCollector);
+        sha512 = createCache(stringInterner, fileStore, fileSystem, fileTimeStampInspector, SHA512, Hashing.sha512(), statisticsCollector);
+        this.fileSystem = fileSystem;
     }
 
     private CachingFileHasher createCache(
@@ -57,44 +72,103 @@ private CachingFileHasher createCache(
 
     @Override
     public HashCode md5(File file) {
-        return doHash(file, md5);
+        return doHash(file, MD5, md5);
     }
 
     @Override
     public HashCode sha1(File file) {
-        return doHash(file, sha1);
+        return doHash(file, SHA1, sha1);
     }
 
     @Override
     public HashCode sha256(File file) {
-        return doHash(file, sha256);
+        return doHash(file, SHA256, sha256);
     }
 
     @Override
     public HashCode sha512(File file) {
-        return doHash(file, sha512);
+        return doHash(file, SHA512, sha512);
     }
 
     @Override
     public HashCode hash(File src, String algorithm) {
-        switch (algorithm.toLowerCase()) {
-            case "md5":
+        switch (canonicalAlgorithm(algorithm)) {
+            case MD5:
                 return md5(src);
-            case "sha1":
-            case "sha-1":
+            case SHA1:
                 return sha1(src);
-            case "sha256":
-            case "sha-256":
+            case SHA256:
                 return sha256(src);
-            case "sha512":
-            case "sha-512":
+            case SHA512:
                 return sha512(src);
         }
         throw new UnsupportedOperationException("Cannot hash with algorith " + algorithm);
     }
 
-    private HashCode doHash(File file, CachingFileHasher hasher) {
+    @Override
+    public void recordChecksums(File file, Map<String, HashCode> checksums) {
+        Map<String, HashCode> byAlgorithm = new HashMap<>(checksums.size());
+        for (Map.Entry<String, HashCode> entry : checksums.entrySet()) {
+            byAlgorithm.put(canonicalAlgorithm(entry.getKey()), entry.getValue());
+        }
+        FileMetadata metadata = fileSystem.stat(file);
+        recordedChecksums.put(file.getAbsolutePath(), new RecordedChecksums(metadata.getLength(), metadata.getLastModified(), byAlgorithm));
+    }
+
+    @Override
+    public void discardRecordedChecksums(File file) {
+        recordedChecksums.remove(file.getAbsolutePath());
+    }
+
+    private static String canonicalAlgorithm(String algorithm) {
+        String name = algorithm.toLowerCase();
+        switch (name) {
+            case "sha-1":
+                return SHA1;
+            case "sha-256":
+                return SHA256;
+            case "sha-512":
+                return SHA512;
+            default:
+                return name;
+        }
+    }
+
+    private HashCode doHash(File file, String algorithm, CachingFileHasher hasher) {
+        if (!recordedChecksums.isEmpty()) {
+            HashCode recorded = getRecordedChecksum(file, algorithm);
+            if (recorded != null) {
+                return recorded;
+            }
+        }
         return hasher.hash(file);
     }
 
+    @Nullable
+    private HashCode getRecordedChecksum(File file, String algorithm) {
+        String path = file.getAbsolutePath();
+        RecordedChecksums recorded = recordedChecksums.get(path);
+        if (recorded == null) {
+            return null;
+        }
+        FileMetadata metadata = fileSystem.stat(file);
+        if (metadata.getLength() != recorded.length || metadata.getLastModified() != recorded.lastModified) {
+            recordedChecksums.remove(path, recorded);
+            return null;
+        }
+        return recorded.checksums.get(algorithm);
+    }
+
+    private static class RecordedChecksums {
+        private final long length;
+        private final long lastModified;
+        private final Map<String, HashCode> checksums;
+
+        RecordedChecksums(long length, long lastModified, Map<String, HashCode> checksums) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.checksums = checksums;
+        }
+    }
+
 }
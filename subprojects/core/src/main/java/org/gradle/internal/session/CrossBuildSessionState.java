@@ -48,8 +48,10 @@
 import org.gradle.internal.service.scopes.Scopes;
 import org.gradle.internal.service.scopes.ServiceScope;
 import org.gradle.internal.time.Clock;
+import org.gradle.internal.work.AdaptiveWorkerLeaseController;
 import org.gradle.internal.work.DefaultWorkerLeaseService;
 import org.gradle.internal.work.WorkerLeaseService;
+import org.gradle.process.internal.health.memory.MemoryManager;
 
 import java.io.Closeable;
 
@@ -75,6 +77,9 @@ public CrossBuildSessionState(ServiceRegistry parent, StartParameter startParame
             .build();
         // Trigger listener to wire itself in
         services.get(BuildOperationTrace.class);
+        if (AdaptiveWorkerLeaseController.isEnabled()) {
+            services.get(AdaptiveWorkerLeaseController.class);
+        }
     }
 
     public ServiceRegistry getServices() {
@@ -152,6 +157,15 @@ BuildOperationNotificationBridge createBuildOperationNotificationBridge(BuildOpe
             return new BuildOperationNotificationBridge(buildOperationListenerManager, generalListenerManager);
         }
 
+        AdaptiveWorkerLeaseController createAdaptiveWorkerLeaseController(
+            DefaultWorkerLeaseService workerLeaseService,
+            BuildOperationExecutor buildOperationExecutor,
+            ListenerManager listenerManager,
+            @SuppressWarnings("unused") MemoryManager memoryManager // Ensures memory status is being published
+        ) {
+            return new AdaptiveWorkerLeaseController(workerLeaseService, buildOperationExecutor, listenerManager);
+        }
+
         BuildOperationNotificationValve createBuildOperationNotificationValve(BuildOperationNotificationBridge buildOperationNotificationBridge) {
             return buildOperationNotificationBridge.getValve();
         }
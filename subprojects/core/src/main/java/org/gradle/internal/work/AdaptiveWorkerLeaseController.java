@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.work;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.gradle.initialization.RootBuildLifecycleListener;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.event.ListenerManager;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationExecutor;
+import org.gradle.internal.operations.BuildOperationRef;
+import org.gradle.internal.operations.CurrentBuildOperationRef;
+import org.gradle.internal.operations.RunnableBuildOperation;
+import org.gradle.process.internal.health.memory.OsMemoryStatus;
+import org.gradle.process.internal.health.memory.OsMemoryStatusAspect;
+import org.gradle.process.internal.health.memory.OsMemoryStatusListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Grows and shrinks the number of worker leases that {@link DefaultWorkerLeaseService} grants, based on the system load average, the available
+ * physical memory and the time that this process spends in garbage collection. The number of leases never exceeds the configured max worker count.
+ *
+ * <p>Receives a sample each time the memory manager publishes OS memory status. The system load includes the workers of this build,
+ * so the worker leases granted by this build are subtracted from it, to avoid a busy build throttling itself.</p>
+ *
+ * <p>The limit is only adjusted while a root build is running, and each change to the limit is recorded as a build operation,
+ * a child of the build operation of the root build. The samples are received on the thread of the memory manager, which is not
+ * running any build operation itself. The limit is reset to the max worker count when the root build completes.</p>
+ */
+public class AdaptiveWorkerLeaseController implements OsMemoryStatusListener, RootBuildLifecycleListener, Stoppable {
+    public static final String ADAPTIVE_WORKER_LEASES_PROPERTY = "org.gradle.internal.workers.adaptive";
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveWorkerLeaseController.class);
+
+    private static final double MAX_LOAD_PER_PROCESSOR = 1.5;
+    private static final double MIN_FREE_MEMORY_RATIO = 0.1;
+    private static final double MAX_GC_TIME_RATIO = 0.25;
+    private static final double GROW_LOAD_PER_PROCESSOR = 1.0;
+    private static final double GROW_FREE_MEMORY_RATIO = 0.2;
+    private static final double GROW_GC_TIME_RATIO = 0.1;
+
+    private final DefaultWorkerLeaseService workerLeaseService;
+    private final BuildOperationExecutor buildOperationExecutor;
+    private final ListenerManager listenerManager;
+    private final OperatingSystemMXBean operatingSystem;
+    // Nested root builds, such as those run by the GradleBuild task, may also be running
+    private final Deque<BuildOperationRef> runningRootBuilds = new ArrayDeque<BuildOperationRef>();
+    private long lastSampleTime = System.nanoTime();
+    private long lastGcTimeMillis = totalGcTimeMillis();
+
+    public AdaptiveWorkerLeaseController(DefaultWorkerLeaseService workerLeaseService, BuildOperationExecutor buildOperationExecutor, ListenerManager listenerManager) {
+        this(workerLeaseService, buildOperationExecutor, listenerManager, ManagementFactory.getOperatingSystemMXBean());
+    }
+
+    @VisibleForTesting
+    AdaptiveWorkerLeaseController(DefaultWorkerLeaseService workerLeaseService, BuildOperationExecutor buildOperationExecutor, ListenerManager listenerManager, OperatingSystemMXBean operatingSystem) {
+        this.workerLeaseService = workerLeaseService;
+        this.buildOperationExecutor = buildOperationExecutor;
+        this.listenerManager = listenerManager;
+        this.operatingSystem = operatingSystem;
+        listenerManager.addListener(this);
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ADAPTIVE_WORKER_LEASES_PROPERTY);
+    }
+
+    @Override
+    public synchronized void afterStart() {
+        BuildOperationRef rootBuildOperation = CurrentBuildOperationRef.instance().get();
+        if (rootBuildOperation == null) {
+            throw new IllegalStateException("No build operation is running for the root build.");
+        }
+        runningRootBuilds.push(rootBuildOperation);
+        // Do not attribute the time spent in garbage collection between builds to this build
+        sampleGcTimeRatio();
+    }
+
+    @Override
+    public synchronized void beforeComplete() {
+        runningRootBuilds.pop();
+        if (runningRootBuilds.isEmpty()) {
+            workerLeaseService.setWorkerLeaseLimit(workerLeaseService.getMaxWorkerCount());
+        }
+    }
+
+    @Override
+    public synchronized void onOsMemoryStatus(OsMemoryStatus os) {
+        final BuildOperationRef rootBuildOperation = runningRootBuilds.peek();
+        if (rootBuildOperation == null) {
+            // Between builds
+            return;
+        }
+        final double loadPerProcessor = externalLoadPerProcessor(operatingSystem.getSystemLoadAverage(), workerLeaseService.getWorkerLeasesInUse(), operatingSystem.getAvailableProcessors());
+        final double freeMemoryRatio = freeMemoryRatio(os.getPhysicalMemory());
+        final double gcTimeRatio = sampleGcTimeRatio();
+        final int maxWorkerCount = workerLeaseService.getMaxWorkerCount();
+        final int previousLimit = workerLeaseService.getWorkerLeaseLimit();
+        final int newLimit = computeLimit(previousLimit, maxWorkerCount, loadPerProcessor, freeMemoryRatio, gcTimeRatio);
+        if (newLimit == previousLimit) {
+            return;
+        }
+        buildOperationExecutor.run(new RunnableBuildOperation() {
+            @Override
+            public void run(BuildOperationContext context) {
+                int effectiveLimit = workerLeaseService.setWorkerLeaseLimit(newLimit);
+                LOGGER.info("Changed worker lease limit from {} to {} (load per processor from other processes: {}, free memory ratio: {}, GC time ratio: {}).",
+                    previousLimit, effectiveLimit, loadPerProcessor, freeMemoryRatio, gcTimeRatio);
+                context.setResult(null);
+            }
+
+            @Override
+            public BuildOperationDescriptor.Builder description() {
+                return BuildOperationDescriptor.displayName("Adjust worker lease limit")
+                    .parent(rootBuildOperation)
+                    .details(new AdjustWorkerLeaseLimitBuildOperationType.Details(previousLimit, newLimit, maxWorkerCount, loadPerProcessor, freeMemoryRatio, gcTimeRatio));
+            }
+        });
+    }
+
+    /**
+     * Calculates the new worker lease limit. Shrinks quickly, by halving, when any resource is under pressure, and grows slowly, one lease at a time,
+     * when all resources have headroom. Negative inputs mean that the value is not available and are ignored.
+     */
+    @VisibleForTesting
+    static int computeLimit(int currentLimit, int maxWorkerCount, double loadPerProcessor, double freeMemoryRatio, double gcTimeRatio) {
+        boolean underPressure = loadPerProcessor > MAX_LOAD_PER_PROCESSOR
+            || (freeMemoryRatio >= 0 && freeMemoryRatio < MIN_FREE_MEMORY_RATIO)
+            || gcTimeRatio > MAX_GC_TIME_RATIO;
+        if (underPressure) {
+            return Math.max(1, currentLimit / 2);
+        }
+        boolean hasHeadroom = loadPerProcessor < GROW_LOAD_PER_PROCESSOR
+            && (freeMemoryRatio < 0 || freeMemoryRatio > GROW_FREE_MEMORY_RATIO)
+            && gcTimeRatio < GROW_GC_TIME_RATIO;
+        if (hasHeadroom) {
+            return Math.min(maxWorkerCount, currentLimit + 1);
+        }
+        return currentLimit;
+    }
+
+    /**
+     * Calculates the load per processor from processes other than this build, by subtracting the leases granted by this build from the system load average.
+     * Each granted lease is assumed to keep one processor busy. Returns a negative value when the load average is not available.
+     */
+    @VisibleForTesting
+    static double externalLoadPerProcessor(double systemLoadAverage, int leasesInUse, int availableProcessors) {
+        if (systemLoadAverage < 0) {
+            return -1;
+        }
+        return Math.max(0, systemLoadAverage - leasesInUse) / availableProcessors;
+    }
+
+    private static double freeMemoryRatio(OsMemoryStatusAspect physicalMemory) {
+        if (!(physicalMemory instanceof OsMemoryStatusAspect.Available)) {
+            return -1;
+        }
+        OsMemoryStatusAspect.Available available = (OsMemoryStatusAspect.Available) physicalMemory;
+        if (available.getTotal() <= 0) {
+            return -1;
+        }
+        return (double) available.getFree() / available.getTotal();
+    }
+
+    private double sampleGcTimeRatio() {
+        long now = System.nanoTime();
+        long gcTimeMillis = totalGcTimeMillis();
+        long elapsedMillis = (now - lastSampleTime) / 1000000;
+        double ratio = elapsedMillis > 0 ? (double) (gcTimeMillis - lastGcTimeMillis) / elapsedMillis : 0;
+        lastSampleTime = now;
+        lastGcTimeMillis = gcTimeMillis;
+        return ratio;
+    }
+
+    private static long totalGcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            long collectionTime = garbageCollector.getCollectionTime();
+            if (collectionTime > 0) {
+                total += collectionTime;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public void stop() {
+        listenerManager.removeListener(this);
+        workerLeaseService.setWorkerLeaseLimit(workerLeaseService.getMaxWorkerCount());
+    }
+}
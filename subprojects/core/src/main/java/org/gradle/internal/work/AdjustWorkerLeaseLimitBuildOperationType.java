@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.work;
+
+import org.gradle.internal.operations.BuildOperationType;
+
+/**
+ * Records a change to the number of worker leases that can be granted, made when adaptive worker leases are enabled.
+ */
+public interface AdjustWorkerLeaseLimitBuildOperationType extends BuildOperationType<AdjustWorkerLeaseLimitBuildOperationType.Details, Void> {
+    class Details {
+        private final int previousLimit;
+        private final int newLimit;
+        private final int maxWorkerCount;
+        private final double externalLoadPerProcessor;
+        private final double freePhysicalMemoryRatio;
+        private final double garbageCollectionTimeRatio;
+
+        public Details(int previousLimit, int newLimit, int maxWorkerCount, double externalLoadPerProcessor, double freePhysicalMemoryRatio, double garbageCollectionTimeRatio) {
+            this.previousLimit = previousLimit;
+            this.newLimit = newLimit;
+            this.maxWorkerCount = maxWorkerCount;
+            this.externalLoadPerProcessor = externalLoadPerProcessor;
+            this.freePhysicalMemoryRatio = freePhysicalMemoryRatio;
+            this.garbageCollectionTimeRatio = garbageCollectionTimeRatio;
+        }
+
+        public int getPreviousLimit() {
+            return previousLimit;
+        }
+
+        public int getNewLimit() {
+            return newLimit;
+        }
+
+        public int getMaxWorkerCount() {
+            return maxWorkerCount;
+        }
+
+        /**
+         * The system load average, less the worker leases granted by this build, divided by the number of available processors, or a negative value when not available.
+         */
+        public double getExternalLoadPerProcessor() {
+            return externalLoadPerProcessor;
+        }
+
+        /**
+         * The ratio of free to total physical memory, or a negative value when not available.
+         */
+        public double getFreePhysicalMemoryRatio() {
+            return freePhysicalMemoryRatio;
+        }
+
+        /**
+         * The fraction of elapsed time that this process spent in garbage collection since the previous sample.
+         */
+        public double getGarbageCollectionTimeRatio() {
+            return garbageCollectionTimeRatio;
+        }
+    }
+}
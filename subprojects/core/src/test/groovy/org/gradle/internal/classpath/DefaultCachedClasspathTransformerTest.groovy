@@ -25,6 +25,7 @@ import org.gradle.cache.GlobalCacheLocations
 import org.gradle.cache.internal.CleanupActionDecorator
 import org.gradle.cache.internal.UsedGradleVersions
 import org.gradle.cache.scopes.GlobalScopedCacheBuilderFactory
+import org.gradle.internal.Either
 import org.gradle.internal.Pair
 import org.gradle.internal.agents.AgentStatus
 import org.gradle.internal.classloader.FilteringClassLoader
@@ -32,10 +33,12 @@ import org.gradle.internal.classpath.transforms.ClassTransform
 import org.gradle.internal.classpath.transforms.ClasspathElementTransformFactoryForAgent
 import org.gradle.internal.classpath.transforms.ClasspathElementTransformFactoryForLegacy
 import org.gradle.internal.classpath.types.GradleCoreInstrumentingTypeRegistry
+import org.gradle.internal.concurrent.DefaultExecutorFactory
 import org.gradle.internal.file.FileAccessTimeJournal
 import org.gradle.internal.fingerprint.CurrentFileCollectionFingerprint
 import org.gradle.internal.fingerprint.FileCollectionFingerprint
 import org.gradle.internal.fingerprint.classpath.ClasspathFingerprinter
+import org.gradle.internal.hash.HashCode
 import org.gradle.internal.hash.Hasher
 import org.gradle.internal.io.ClassLoaderObjectInputStream
 import org.gradle.internal.snapshot.FileSystemLocationSnapshot
@@ -48,6 +51,8 @@ import org.gradle.testfixtures.internal.TestInMemoryCacheFactory
 import org.junit.Rule
 import spock.lang.Subject
 
+import java.util.concurrent.Callable
+import java.util.function.ToLongFunction
 import java.util.zip.ZipEntry
 
 import static org.gradle.internal.classpath.CachedClasspathTransformer.StandardTransform.BuildLogic
@@ -548,6 +553,29 @@ class DefaultCachedClasspathTransformerTest extends ConcurrentSpec {
         result == "123"
     }
 
+    def "starts the transforms of the largest entries first and keeps the order of the classpath"() {
+        given:
+        def executor = new DefaultExecutorFactory().create("test", 1)
+        def parallelExecutor = new DefaultCachedClasspathTransformer.ParallelTransformExecutor(cache, executor)
+        def sizes = [small: 1L, large: 100L, medium: 10L]
+        def started = []
+
+        when:
+        def results = parallelExecutor.transformAll(sizes.keySet(), { String entry -> sizes[entry] } as ToLongFunction<String>, { String entry, Set<HashCode> seen ->
+            Optional.of(Either.right({ ->
+                started << entry
+                entry.toUpperCase()
+            } as Callable<String>))
+        } as DefaultCachedClasspathTransformer.ValueOrTransformProvider<String, String>)
+
+        then:
+        results == ["SMALL", "LARGE", "MEDIUM"]
+        started == ["large", "medium", "small"]
+
+        cleanup:
+        executor.stop()
+    }
+
     Object recreate(Object value) {
         def outputStream = new ByteArrayOutputStream()
         new ObjectOutputStream(outputStream).with {
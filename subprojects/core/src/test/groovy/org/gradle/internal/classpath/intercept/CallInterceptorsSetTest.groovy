@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.classpath.intercept
+
+import org.codehaus.groovy.runtime.callsite.CallSiteArray
+import org.gradle.internal.classpath.GroovyCallInterceptorsProvider
+import spock.lang.Specification
+
+class CallInterceptorsSetTest extends Specification {
+    def interceptor = new CallInterceptor(InterceptScope.methodsNamed("intercepted"), InterceptScope.readsOfPropertiesNamed("intercepted")) {
+        @Override
+        Object doIntercept(Invocation invocation, String consumer) throws Throwable {
+            return "intercepted call on ${invocation.receiver} from $consumer".toString()
+        }
+    }
+    def interceptors = new CallInterceptorsSet({ [interceptor] } as GroovyCallInterceptorsProvider)
+    def callSites = new CallSiteArray(CallInterceptorsSetTest, ["intercepted", "other"] as String[])
+
+    def "decorates the call sites of intercepted names only"() {
+        expect:
+        !interceptors.maybeDecorateGroovyCallSite(callSites.array[0]).is(callSites.array[0])
+        interceptors.maybeDecorateGroovyCallSite(callSites.array[1]).is(callSites.array[1])
+    }
+
+    def "decorated call site invokes the interceptor on each call"() {
+        given:
+        def callSite = interceptors.maybeDecorateGroovyCallSite(callSites.array[0])
+        def consumer = CallInterceptorsSetTest.name
+
+        expect:
+        callSite.call("receiver", [] as Object[]) == "intercepted call on receiver from $consumer"
+        callSite.call("other receiver", [] as Object[]) == "intercepted call on other receiver from $consumer"
+        callSite.callStatic(String, [] as Object[]) == "intercepted call on class java.lang.String from $consumer"
+        callSite.callGetProperty("receiver") == "intercepted call on receiver from $consumer"
+    }
+}
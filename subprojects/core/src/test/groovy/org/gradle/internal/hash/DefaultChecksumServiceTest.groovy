@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.hash
+
+import org.gradle.api.internal.cache.StringInterner
+import org.gradle.api.internal.changedetection.state.CrossBuildFileHashCache
+import org.gradle.api.internal.changedetection.state.FileHasherStatistics
+import org.gradle.api.internal.changedetection.state.FileTimeStampInspector
+import org.gradle.api.internal.file.TestFiles
+import org.gradle.cache.IndexedCache
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class DefaultChecksumServiceTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+    def fileStore = Stub(CrossBuildFileHashCache) {
+        createIndexedCache(_, _, _) >> Stub(IndexedCache)
+    }
+    def timeStampInspector = Stub(FileTimeStampInspector) {
+        // Files written during the build cannot be trusted by the persistent caches, so they are always hashed
+        timestampCanBeUsedToDetectFileChange(_, _) >> false
+    }
+    def checksumService = new DefaultChecksumService(new StringInterner(), fileStore, TestFiles.fileSystem(), timeStampInspector, Stub(FileHasherStatistics.Collector))
+    def file = tmpDir.file("file").tap { text = "content" }
+    def recordedSha1 = TestHashCodes.hashCodeFrom(1)
+    def recordedSha256 = TestHashCodes.hashCodeFrom(2)
+
+    def "returns recorded checksums instead of hashing the file"() {
+        when:
+        checksumService.recordChecksums(file, [sha1: recordedSha1, "SHA-256": recordedSha256])
+
+        then:
+        checksumService.sha1(file) == recordedSha1
+        checksumService.hash(file, "SHA-1") == recordedSha1
+        checksumService.sha256(file) == recordedSha256
+        checksumService.hash(file, "sha256") == recordedSha256
+    }
+
+    def "hashes the file with algorithms that have not been recorded"() {
+        when:
+        checksumService.recordChecksums(file, [sha1: recordedSha1])
+
+        then:
+        checksumService.sha256(file) == Hashing.sha256().hashBytes(file.bytes)
+        checksumService.md5(file) == Hashing.md5().hashBytes(file.bytes)
+    }
+
+    def "does not return recorded checksums of other files"() {
+        def other = tmpDir.file("other").tap { text = "content" }
+
+        when:
+        checksumService.recordChecksums(file, [sha1: recordedSha1])
+
+        then:
+        checksumService.sha1(other) == Hashing.sha1().hashBytes(other.bytes)
+    }
+
+    def "hashes the file again when it has changed since the checksums were recorded"() {
+        given:
+        checksumService.recordChecksums(file, [sha1: recordedSha1])
+
+        when:
+        file.text = "changed content"
+
+        then:
+        checksumService.sha1(file) == Hashing.sha1().hashBytes(file.bytes)
+    }
+
+    def "hashes the file again when the recorded checksums are discarded"() {
+        given:
+        checksumService.recordChecksums(file, [sha1: recordedSha1])
+
+        when:
+        checksumService.discardRecordedChecksums(file)
+
+        then:
+        checksumService.sha1(file) == Hashing.sha1().hashBytes(file.bytes)
+    }
+}
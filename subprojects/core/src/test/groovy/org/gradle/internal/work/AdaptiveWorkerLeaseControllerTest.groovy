@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.work
+
+import org.gradle.internal.event.ListenerManager
+import org.gradle.internal.operations.BuildOperationExecutor
+import org.gradle.internal.operations.BuildOperationRef
+import org.gradle.internal.operations.CurrentBuildOperationRef
+import org.gradle.internal.operations.OperationIdentifier
+import org.gradle.internal.operations.RunnableBuildOperation
+import org.gradle.process.internal.health.memory.OsMemoryStatus
+import org.gradle.process.internal.health.memory.OsMemoryStatusAspect
+import spock.lang.Specification
+
+import java.lang.management.OperatingSystemMXBean
+
+class AdaptiveWorkerLeaseControllerTest extends Specification {
+    def workerLeaseService = Mock(DefaultWorkerLeaseService)
+    def buildOperationExecutor = Mock(BuildOperationExecutor)
+    def operatingSystem = Stub(OperatingSystemMXBean) {
+        getAvailableProcessors() >> 4
+    }
+    def memoryStatus = Stub(OsMemoryStatus) {
+        getPhysicalMemory() >> Stub(OsMemoryStatusAspect.Unavailable)
+    }
+    def controller = new AdaptiveWorkerLeaseController(workerLeaseService, buildOperationExecutor, Stub(ListenerManager), operatingSystem)
+    def rootBuildOperation = Stub(BuildOperationRef) {
+        getId() >> new OperationIdentifier(12)
+    }
+
+    def "shrinks limit when #pressure"() {
+        expect:
+        AdaptiveWorkerLeaseController.computeLimit(8, 8, load, freeMemory, gc) == 4
+        AdaptiveWorkerLeaseController.computeLimit(1, 8, load, freeMemory, gc) == 1
+
+        where:
+        pressure                    | load | freeMemory | gc
+        "system is overloaded"      | 2.0  | 0.5        | 0.0
+        "free memory is low"        | 0.5  | 0.05       | 0.0
+        "gc time is high"           | 0.5  | 0.5        | 0.3
+    }
+
+    def "grows limit by one when all resources have headroom"() {
+        expect:
+        AdaptiveWorkerLeaseController.computeLimit(4, 8, 0.5, 0.5, 0.0) == 5
+        AdaptiveWorkerLeaseController.computeLimit(8, 8, 0.5, 0.5, 0.0) == 8
+    }
+
+    def "keeps limit when resources are neither under pressure nor have headroom"() {
+        expect:
+        AdaptiveWorkerLeaseController.computeLimit(4, 8, 1.2, 0.5, 0.0) == 4
+        AdaptiveWorkerLeaseController.computeLimit(4, 8, 0.5, 0.15, 0.0) == 4
+        AdaptiveWorkerLeaseController.computeLimit(4, 8, 0.5, 0.5, 0.2) == 4
+    }
+
+    def "ignores values that are not available"() {
+        expect:
+        AdaptiveWorkerLeaseController.computeLimit(4, 8, -1, -1, 0.0) == 5
+    }
+
+    def "excludes the leases granted by this build from the load"() {
+        expect:
+        AdaptiveWorkerLeaseController.externalLoadPerProcessor(10.0, 8, 4) == 0.5
+        AdaptiveWorkerLeaseController.externalLoadPerProcessor(6.0, 8, 4) == 0
+        AdaptiveWorkerLeaseController.externalLoadPerProcessor(-1, 8, 4) == -1
+    }
+
+    def "does not throttle a build that keeps the processors busy with its own workers"() {
+        given:
+        operatingSystem.getSystemLoadAverage() >> 8.0
+        startRootBuild()
+
+        when:
+        controller.onOsMemoryStatus(memoryStatus)
+
+        then:
+        _ * workerLeaseService.getWorkerLeasesInUse() >> 8
+        _ * workerLeaseService.getMaxWorkerCount() >> 8
+        _ * workerLeaseService.getWorkerLeaseLimit() >> 8
+        0 * buildOperationExecutor._
+    }
+
+    def "adjusts limit as a child of the root build operation"() {
+        given:
+        operatingSystem.getSystemLoadAverage() >> 16.0
+        startRootBuild()
+
+        when:
+        controller.onOsMemoryStatus(memoryStatus)
+
+        then:
+        _ * workerLeaseService.getWorkerLeasesInUse() >> 2
+        _ * workerLeaseService.getMaxWorkerCount() >> 8
+        _ * workerLeaseService.getWorkerLeaseLimit() >> 8
+        1 * buildOperationExecutor.run(_) >> { RunnableBuildOperation operation ->
+            def descriptor = operation.description().build()
+            assert descriptor.parentId == rootBuildOperation.id
+            assert descriptor.details.newLimit == 4
+        }
+    }
+
+    def "does not adjust limit between builds"() {
+        given:
+        operatingSystem.getSystemLoadAverage() >> 16.0
+        startRootBuild()
+
+        when:
+        controller.beforeComplete()
+
+        then:
+        _ * workerLeaseService.getMaxWorkerCount() >> 8
+        1 * workerLeaseService.setWorkerLeaseLimit(8)
+
+        when:
+        controller.onOsMemoryStatus(memoryStatus)
+
+        then:
+        0 * workerLeaseService._
+        0 * buildOperationExecutor._
+    }
+
+    private void startRootBuild() {
+        CurrentBuildOperationRef.instance().with(rootBuildOperation, { controller.afterStart() } as Runnable)
+    }
+}
@@ -188,6 +188,14 @@ class TestUtil {
                             def algo = algorithm.toLowerCase().replaceAll('-', '')
                             Hashing."$algo"().hashBytes(src.bytes)
                         }
+
+                        @Override
+                        void recordChecksums(File file, Map<String, HashCode> checksums) {
+                        }
+
+                        @Override
+                        void discardRecordedChecksums(File file) {
+                        }
                     }
                 }
             })
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.performance.regression.corefeature
+
+import org.gradle.performance.AbstractCrossVersionPerformanceTest
+import org.gradle.performance.annotations.RunFor
+import org.gradle.performance.annotations.Scenario
+import org.gradle.profiler.BuildContext
+import org.gradle.profiler.BuildMutator
+
+import static org.gradle.performance.annotations.ScenarioType.PER_DAY
+import static org.gradle.performance.results.OperatingSystem.LINUX
+
+/**
+ * Resolves a large dependency graph with the metadata of the components selected by the previous resolution prefetched.
+ *
+ * Each build changes the group or the version of the projects with an init script of the Gradle user home, so that the previous resolution
+ * is either unknown (cold) or was done with different inputs (changed). In both cases nothing is prefetched, which measures the cost of
+ * looking up and recording the selected components on every resolution.
+ */
+@RunFor(
+    @Scenario(type = PER_DAY, operatingSystems = [LINUX], testProjects = ["excludeRuleMergingBuild"])
+)
+class SelectedComponentsPrefetchPerformanceTest extends AbstractCrossVersionPerformanceTest {
+
+    def setup() {
+        runner.minimumBaseVersion = '5.6.4'
+    }
+
+    def "resolve large dependency graph with prefetching (#state)"() {
+        given:
+        runner.tasksToRun = ['resolveDependencies']
+        runner.args = ['-PnoExcludes', '-Dorg.gradle.internal.dm.prefetch.selected.components=true']
+        if (property != null) {
+            runner.addBuildMutator { invocationSettings ->
+                new BuildMutator() {
+                    @Override
+                    void beforeBuild(BuildContext context) {
+                        def initScript = new File(invocationSettings.gradleUserHome, "init.d/prefetch.gradle")
+                        initScript.parentFile.mkdirs()
+                        initScript.text = "allprojects { ${property} = '${state}-${context.phase}-${context.iteration}' }"
+                    }
+                }
+            }
+        }
+
+        when:
+        def result = runner.run()
+
+        then:
+        result.assertCurrentVersionHasNotRegressed()
+
+        where:
+        state     | property
+        'warm'    | null
+        'cold'    | 'group'
+        'changed' | 'version'
+    }
+}